@@ -0,0 +1,21 @@
+package community.solace.spring.cloud.requestreply.benchmark;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Application the benchmarks run in: the request/reply starter on top of the in-memory test binder.
+ */
+@SpringBootApplication
+@Import(TestChannelBinderConfiguration.class)
+public class BenchmarkApplication {
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .properties(properties)
+                .run();
+    }
+}
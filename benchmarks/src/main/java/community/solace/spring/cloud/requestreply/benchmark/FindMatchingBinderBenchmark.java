@@ -0,0 +1,64 @@
+package community.solace.spring.cloud.requestreply.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import community.solace.spring.cloud.requestreply.config.BinderMappings;
+import community.solace.spring.cloud.requestreply.config.RequestReplyProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolution of the binding of a request destination, done by every {@code requestReplyToTopic*} call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindMatchingBinderBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int bindings;
+
+    private RequestReplyProperties properties;
+    private String lastBindingDestination;
+
+    @Setup
+    public void setUp() {
+        List<BinderMappings> mappings = new ArrayList<>();
+        for (int i = 0; i < bindings; i++) {
+            BinderMappings mapping = new BinderMappings();
+            mapping.setBinding("binding" + i);
+            mapping.setReplyTopic("replies/" + i);
+            mapping.setTopicPatterns(List.of("requests/" + i + "/[^/]+/.*", "legacy/requests/" + i + "/.*"));
+            mappings.add(mapping);
+        }
+
+        properties = new RequestReplyProperties();
+        properties.setBindingMapping(mappings);
+        lastBindingDestination = "requests/" + (bindings - 1) + "/temperature/celsius/livingroom";
+    }
+
+    @Benchmark
+    public Optional<String> lastBinding() {
+        return properties.findMatchingBinder(lastBindingDestination);
+    }
+
+    @Benchmark
+    public Optional<String> noBinding() {
+        return properties.findMatchingBinder("unknown/temperature/celsius/livingroom");
+    }
+}
@@ -0,0 +1,100 @@
+package community.solace.spring.cloud.requestreply.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import community.solace.spring.cloud.requestreply.service.header.RequestReplyMessageHeaderSupportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * Replier side: the wrapped functions answering a request with one or many replies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HeaderSupportBenchmark {
+    private static final String BINDING = "bench-out-0";
+
+    @Param({"100"})
+    public int replies;
+
+    /**
+     * Whether the requester asked for the replies to be grouped into few messages.
+     */
+    @Param({"false", "true"})
+    public boolean grouped;
+
+    private ConfigurableApplicationContext context;
+    private Message<String> request;
+    private Function<Message<String>, Message<String>> wrapped;
+    private Function<Message<String>, List<Message<String>>> wrappedList;
+    private Function<Flux<Message<String>>, Flux<Message<String>>> wrappedFlux;
+
+    @Setup
+    public void start() {
+        context = BenchmarkApplication.start();
+        RequestReplyMessageHeaderSupportService headerSupport = context.getBean(RequestReplyMessageHeaderSupportService.class);
+
+        request = MessageBuilder.withPayload("ping")
+                .setCorrelationId("benchmark-correlation-id")
+                .setHeader("replyTo", "bench/replies")
+                .setHeader("groupedMessages", grouped)
+                .build();
+
+        List<String> payloads = new ArrayList<>(replies);
+        for (int i = 0; i < replies; i++) {
+            payloads.add("pong-" + i);
+        }
+        BiConsumer<String, FluxSink<String>> streamingReplier = (payload, sink) -> {
+            payloads.forEach(sink::next);
+            sink.complete();
+        };
+
+        wrapped = headerSupport.wrap(payload -> "pong");
+        wrappedList = headerSupport.wrapList(payload -> payloads, BINDING);
+        wrappedFlux = headerSupport.wrapFlux(streamingReplier, BINDING);
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Message<String> wrap() {
+        return wrapped.apply(request);
+    }
+
+    @Benchmark
+    public List<Message<String>> wrapList() {
+        return wrappedList.apply(request);
+    }
+
+    @Benchmark
+    public List<Message<String>> wrapFlux() {
+        return wrappedFlux.apply(Flux.just(request)).collectList().block();
+    }
+}
@@ -0,0 +1,59 @@
+package community.solace.spring.cloud.requestreply.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import community.solace.spring.cloud.requestreply.util.MessageChunker;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Grouping of serialized replies into chunks of at most one megabyte, as done for grouped multi-reply responses.
+ * Only uses {@code MessageChunker.mapChunked}, so that it runs against every release.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageChunkerBenchmark {
+    private static final int ONE_MB = 1_000_000;
+
+    @Param({"1000"})
+    public int messages;
+
+    @Param({"100", "10000"})
+    public int messageBytes;
+
+    private List<Message<byte[]>> replies;
+
+    @Setup
+    public void setUp() {
+        replies = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            replies.add(MessageBuilder.withPayload(new byte[messageBytes])
+                    .setHeader("contentType", "application/json")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<Pair<Message<byte[]>, Integer>> mapChunked() {
+        return MessageChunker.mapChunked(replies, ONE_MB);
+    }
+}
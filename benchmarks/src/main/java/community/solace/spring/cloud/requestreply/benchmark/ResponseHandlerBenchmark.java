@@ -0,0 +1,121 @@
+package community.solace.spring.cloud.requestreply.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import community.solace.spring.cloud.requestreply.service.ResponseHandler;
+import community.solace.spring.cloud.requestreply.service.logging.DefaultRequestReplyLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Deduplication of the reply indices of one multi-reply request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseHandlerBenchmark {
+    private static final int REPLIES = 10_000;
+    private static final DefaultRequestReplyLogger LOGGER = new DefaultRequestReplyLogger();
+
+    /**
+     * Whether the replier announced the number of replies, or streams an unknown number of them.
+     */
+    @Param({"true", "false"})
+    public boolean totalRepliesKnown;
+
+    private String[] replyIndices;
+
+    @Setup
+    public void setUp() {
+        replyIndices = new String[REPLIES];
+        for (int i = 0; i < REPLIES; i++) {
+            replyIndices[i] = String.valueOf(i);
+        }
+    }
+
+    /**
+     * Every reply index once, followed by one duplicate, per time reported.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REPLIES)
+    public void checkDuplicate(Blackhole blackhole) {
+        ResponseHandler handler = new ResponseHandler(msg -> { }, true, null, LOGGER);
+        if (totalRepliesKnown) {
+            handler.setTotalReplies((long) REPLIES);
+        } else {
+            handler.setUnknownReplies();
+        }
+
+        for (String replyIndex : replyIndices) {
+            blackhole.consume(handler.checkDuplicate(replyIndex));
+        }
+        blackhole.consume(handler.checkDuplicate(replyIndices[0]));
+    }
+
+    /**
+     * Four consumer threads deduplicating the replies of the same request, as a binder with concurrent consumers does.
+     * Each reply index is checked once, the threads move on to the next request once all of them were used.
+     */
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(4)
+    public boolean concurrentCheckDuplicate(SharedHandler shared) {
+        return shared.checkNext();
+    }
+
+    @State(Scope.Group)
+    public static class SharedHandler {
+        private final AtomicReference<Request> request = new AtomicReference<>();
+        private String[] replyIndices;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            replyIndices = new String[REPLIES];
+            for (int i = 0; i < REPLIES; i++) {
+                replyIndices[i] = String.valueOf(i);
+            }
+            request.set(new Request());
+        }
+
+        boolean checkNext() {
+            while (true) {
+                Request current = request.get();
+                int index = current.next.getAndIncrement();
+                if (index < REPLIES) {
+                    return current.handler.checkDuplicate(replyIndices[index]);
+                }
+                if (request.get() == current) {
+                    request.compareAndSet(current, new Request());
+                }
+            }
+        }
+    }
+
+    private static final class Request {
+        private final AtomicInteger next = new AtomicInteger();
+        private final ResponseHandler handler = new ResponseHandler(msg -> { }, true, null, LOGGER);
+
+        private Request() {
+            handler.setTotalReplies((long) REPLIES);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package community.solace.spring.cloud.requestreply.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import community.solace.spring.cloud.requestreply.service.RequestReplyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.function.context.FunctionRegistration;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * Request/reply round trips over the in-memory test binder.
+ * <p>
+ * The benchmark thread plays the replier: it takes the request from the output destination and answers it.
+ * Runs single threaded, as concurrent threads would take each other's requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+public class RoundTripBenchmark {
+    private static final String BINDING = "bench";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final byte[] REPLY = "\"pong\"".getBytes();
+
+    /**
+     * Releases not knowing the completion mode ignore it and always block.
+     */
+    @Param({"blocking", "async"})
+    public String completionMode;
+
+    private ConfigurableApplicationContext context;
+    private RequestReplyService requestReplyService;
+    private Consumer<Message<?>> replyConsumer;
+    private InputDestination input;
+    private OutputDestination output;
+    private Message<byte[]> unknownReply;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void start() {
+        context = BenchmarkApplication.start("spring.cloud.stream.requestreply.completionMode=" + completionMode);
+        requestReplyService = context.getBean(RequestReplyService.class);
+        replyConsumer = (Consumer<Message<?>>) context.getBean(BINDING, FunctionRegistration.class).getTarget();
+        input = context.getBean(InputDestination.class);
+        output = context.getBean(OutputDestination.class);
+        unknownReply = MessageBuilder.withPayload(REPLY)
+                .setCorrelationId("unknown")
+                .build();
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Request, reply over the reply binding and completion of the returned future.
+     */
+    @Benchmark
+    public String roundTrip() throws Exception {
+        CompletableFuture<String> response = requestReplyService.requestReplyToBinding("ping", BINDING, String.class, TIMEOUT);
+        input.send(reply(), "bench/replies");
+        return response.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Like {@link #roundTrip()}, but hands the reply straight to the reply consumer of the binding,
+     * which leaves out the message conversion of the binder.
+     */
+    @Benchmark
+    public String onReplyReceived() throws Exception {
+        CompletableFuture<String> response = requestReplyService.requestReplyToBinding("ping", BINDING, String.class, TIMEOUT);
+        replyConsumer.accept(reply());
+        return response.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A reply nobody waits for, as received by every instance sharing the reply topic.
+     */
+    @Benchmark
+    public void onReplyReceivedUnknownCorrelationId() {
+        replyConsumer.accept(unknownReply);
+    }
+
+    private Message<byte[]> reply() {
+        Message<byte[]> request = output.receive(TIMEOUT.toMillis(), "bench/requests");
+        return MessageBuilder.withPayload(REPLY)
+                .copyHeaders(request.getHeaders())
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package community.solace.spring.cloud.requestreply.benchmark;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import community.solace.spring.cloud.requestreply.service.serializer.JacksonResponseSerializer;
+import community.solace.spring.cloud.requestreply.util.MessageChunker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Grouping of serialized replies into chunks of at most one megabyte streamed chunk by chunk, and grouping of objects
+ * serialized to JSON either each to a byte array first or directly into the chunk buffer.
+ * Uses the streaming chunker API, which is not part of any release yet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageChunkerStreamingBenchmark {
+    private static final int ONE_MB = 1_000_000;
+
+    @Param({"1000"})
+    public int messages;
+
+    @Param({"100", "10000"})
+    public int messageBytes;
+
+    private List<Message<byte[]>> replies;
+    private List<Reading> readings;
+    private JacksonResponseSerializer serializer;
+    private ObjectWriter jsonWriter;
+
+    @Setup
+    public void setUp() {
+        replies = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            replies.add(MessageBuilder.withPayload(new byte[messageBytes])
+                    .setHeader("contentType", "application/json")
+                    .build());
+        }
+
+        readings = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            readings.add(new Reading("sensor-" + i, "x".repeat(messageBytes), i * 0.5));
+        }
+        JsonMapper mapper = new JsonMapper();
+        serializer = new JacksonResponseSerializer(mapper);
+        jsonWriter = mapper.writer();
+    }
+
+    @Benchmark
+    public void chunks(Blackhole blackhole) {
+        Iterator<MessageChunker.Chunk<byte[]>> chunks = MessageChunker.chunks(replies.iterator(), ONE_MB);
+        while (chunks.hasNext()) {
+            blackhole.consume(chunks.next());
+        }
+    }
+
+    @Benchmark
+    public void convertedJsonChunks(Blackhole blackhole) {
+        List<Message<byte[]>> converted = new ArrayList<>(readings.size());
+        for (Reading reading : readings) {
+            converted.add(MessageBuilder.withPayload(jsonWriter.writeValueAsBytes(reading)).build());
+        }
+        Iterator<MessageChunker.Chunk<byte[]>> chunks = MessageChunker.chunks(converted.iterator(), ONE_MB);
+        while (chunks.hasNext()) {
+            blackhole.consume(chunks.next());
+        }
+    }
+
+    @Benchmark
+    public void serializedJsonChunks(Blackhole blackhole) {
+        Iterator<MessageChunker.Chunk<byte[]>> chunks = MessageChunker.chunks(
+                readings.iterator(),
+                (payload, out) -> {
+                    serializer.serialize(payload, MimeTypeUtils.APPLICATION_JSON, out);
+                    return true;
+                },
+                payload -> MessageBuilder.withPayload(payload).build(),
+                MimeTypeUtils.APPLICATION_JSON,
+                ONE_MB, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        while (chunks.hasNext()) {
+            blackhole.consume(chunks.next());
+        }
+    }
+
+    public record Reading(String sensor, String text, double value) {
+    }
+}
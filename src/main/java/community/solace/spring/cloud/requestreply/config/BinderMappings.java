@@ -8,8 +8,12 @@ import java.util.stream.Collectors;
 
 public class BinderMappings {
     private String binding;
+    private String outputBindingName;
     private String replyTopic;
     private Set<Pattern> topicPatterns;
+    private ConcurrencyLimitProperties concurrencyLimit = new ConcurrencyLimitProperties();
+    private ReplyBufferProperties replyBuffer = new ReplyBufferProperties();
+    private ReplyOrderingProperties replyOrdering = new ReplyOrderingProperties();
 
     String getBinding() {
         return binding;
@@ -17,6 +21,14 @@ public class BinderMappings {
 
     public void setBinding(String binding) {
         this.binding = binding;
+        this.outputBindingName = binding == null ? null : binding + "-out-0";
+    }
+
+    /**
+     * @return the name of the output binding the requests of this mapping are sent to
+     */
+    public String getOutputBindingName() {
+        return outputBindingName;
     }
 
     public String getReplyTopic() {
@@ -36,4 +48,28 @@ public class BinderMappings {
     Set<Pattern> getTopicPatterns() {
         return topicPatterns == null ? Collections.emptySet() : topicPatterns;
     }
+
+    public ConcurrencyLimitProperties getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(ConcurrencyLimitProperties concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit == null ? new ConcurrencyLimitProperties() : concurrencyLimit;
+    }
+
+    public ReplyBufferProperties getReplyBuffer() {
+        return replyBuffer;
+    }
+
+    public void setReplyBuffer(ReplyBufferProperties replyBuffer) {
+        this.replyBuffer = replyBuffer == null ? new ReplyBufferProperties() : replyBuffer;
+    }
+
+    public ReplyOrderingProperties getReplyOrdering() {
+        return replyOrdering;
+    }
+
+    public void setReplyOrdering(ReplyOrderingProperties replyOrdering) {
+        this.replyOrdering = replyOrdering == null ? new ReplyOrderingProperties() : replyOrdering;
+    }
 }
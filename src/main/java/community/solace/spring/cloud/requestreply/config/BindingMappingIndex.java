@@ -0,0 +1,53 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable view of the binding mappings, indexed by binding name.
+ * <p>
+ * Built once from the bound mappings and replaced as a whole when they are bound again, so readers either see the
+ * old or the new mappings, never a mix. As before, the first mapping of a binding in configuration order wins.
+ */
+final class BindingMappingIndex {
+    private final List<BinderMappings> source;
+    private final Map<String, BinderMappings> byBinding;
+    private final Set<String> bindingNames;
+    private final TopicRouter topicRouter;
+
+    BindingMappingIndex(List<BinderMappings> mappings) {
+        this.source = mappings;
+        Map<String, BinderMappings> index = new LinkedHashMap<>();
+        for (BinderMappings mapping : mappings) {
+            if (mapping.getBinding() != null) {
+                index.putIfAbsent(mapping.getBinding(), mapping);
+            }
+        }
+        this.byBinding = Collections.unmodifiableMap(index);
+        this.bindingNames = Collections.unmodifiableSet(index.keySet());
+        this.topicRouter = new TopicRouter(mappings);
+    }
+
+    /**
+     * @return whether the index was built from this list of mappings
+     */
+    boolean isBuiltFrom(List<BinderMappings> mappings) {
+        return source == mappings;
+    }
+
+    Optional<BinderMappings> getBindingMapping(String binding) {
+        return binding == null ? Optional.empty() : Optional.ofNullable(byBinding.get(binding));
+    }
+
+    Set<String> getBindingNames() {
+        return bindingNames;
+    }
+
+    Optional<String> findMatchingBinder(String destination) {
+        return topicRouter.findMatchingBinder(destination);
+    }
+}
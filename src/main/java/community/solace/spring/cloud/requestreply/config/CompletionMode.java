@@ -0,0 +1,17 @@
+package community.solace.spring.cloud.requestreply.config;
+
+/**
+ * Defines how a pending request waits for its reply.
+ */
+public enum CompletionMode {
+    /**
+     * An executor thread is parked on the response handler for the whole round trip (default).
+     */
+    BLOCKING,
+
+    /**
+     * No thread is held while waiting. The reply consumer completes the pending request directly,
+     * so the number of requests in flight is not bound to the number of executor threads.
+     */
+    ASYNC
+}
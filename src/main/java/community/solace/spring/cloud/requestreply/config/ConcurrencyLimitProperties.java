@@ -0,0 +1,94 @@
+package community.solace.spring.cloud.requestreply.config;
+
+public class ConcurrencyLimitProperties {
+    private ConcurrencyLimitType type = ConcurrencyLimitType.NONE;
+    private int limit = 100;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private double backoffRatio = 0.9;
+    private double rttTolerance = 2.0;
+    private OverflowStrategy overflow = OverflowStrategy.FAIL;
+    private int maxQueued = 1000;
+
+    public ConcurrencyLimitType getType() {
+        return type;
+    }
+
+    public void setType(ConcurrencyLimitType type) {
+        this.type = type == null ? ConcurrencyLimitType.NONE : type;
+    }
+
+    /**
+     * @return the fixed limit, respectively the initial limit of an adaptive limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return the lower bound of an adaptive limit
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    /**
+     * @return the upper bound of an adaptive limit
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @return the factor an adaptive limit is multiplied with on congestion
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * @return the round trip time, relative to the lowest one observed, above which an adaptive limit backs off
+     */
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public OverflowStrategy getOverflow() {
+        return overflow;
+    }
+
+    public void setOverflow(OverflowStrategy overflow) {
+        this.overflow = overflow == null ? OverflowStrategy.FAIL : overflow;
+    }
+
+    /**
+     * @return the maximum number of requests waiting for a permit with {@link OverflowStrategy#QUEUE}
+     */
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+}
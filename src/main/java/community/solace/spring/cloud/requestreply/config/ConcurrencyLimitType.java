@@ -0,0 +1,23 @@
+package community.solace.spring.cloud.requestreply.config;
+
+/**
+ * How the number of requests in flight on a binding is limited.
+ */
+public enum ConcurrencyLimitType {
+    /**
+     * No limit (default).
+     */
+    NONE,
+
+    /**
+     * At most {@link ConcurrencyLimitProperties#getLimit()} requests are in flight.
+     */
+    FIXED,
+
+    /**
+     * The limit starts at {@link ConcurrencyLimitProperties#getLimit()} and adapts to the round trip times:
+     * it grows by one while replies arrive in time and shrinks multiplicatively on timeouts or when the round trip
+     * time exceeds {@link ConcurrencyLimitProperties#getRttTolerance()} times the lowest round trip time observed.
+     */
+    ADAPTIVE
+}
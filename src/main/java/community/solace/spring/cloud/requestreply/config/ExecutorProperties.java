@@ -0,0 +1,37 @@
+package community.solace.spring.cloud.requestreply.config;
+
+public class ExecutorProperties {
+    private ExecutorType type = ExecutorType.CACHED;
+    private int maxThreads = 200;
+    private int queueCapacity = 10_000;
+
+    public ExecutorType getType() {
+        return type;
+    }
+
+    public void setType(ExecutorType type) {
+        this.type = type == null ? ExecutorType.CACHED : type;
+    }
+
+    /**
+     * @return the number of platform threads of an {@link ExecutorType#BOUNDED} executor
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * @return the number of tasks an {@link ExecutorType#BOUNDED} executor queues while all threads are busy
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
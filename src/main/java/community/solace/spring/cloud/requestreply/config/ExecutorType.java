@@ -0,0 +1,21 @@
+package community.solace.spring.cloud.requestreply.config;
+
+/**
+ * The kind of executor that sends requests and, in {@link CompletionMode#BLOCKING}, awaits their replies.
+ */
+public enum ExecutorType {
+    /**
+     * An unbounded pool of platform threads that are reused while idle (default).
+     */
+    CACHED,
+
+    /**
+     * One virtual thread per task. Requires Java 21 or newer, falls back to {@link #CACHED} otherwise.
+     */
+    VIRTUAL,
+
+    /**
+     * A fixed number of platform threads with a bounded task queue. Tasks exceeding both are rejected.
+     */
+    BOUNDED
+}
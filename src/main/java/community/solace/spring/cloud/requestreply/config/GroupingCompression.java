@@ -0,0 +1,17 @@
+package community.solace.spring.cloud.requestreply.config;
+
+/**
+ * Defines whether grouped responses are compressed.
+ */
+public enum GroupingCompression {
+    /**
+     * Grouped responses are sent as they are (default).
+     */
+    NONE,
+
+    /**
+     * Grouped responses of at least {@code compressionThreshold} bytes are deflated,
+     * if the requester announced that it can inflate them.
+     */
+    DEFLATE
+}
@@ -0,0 +1,20 @@
+package community.solace.spring.cloud.requestreply.config;
+
+/**
+ * Defines how grouped responses are batched before they are chunked.
+ */
+public enum GroupingMode {
+    /**
+     * Responses are batched until {@code maxMessages} were produced or {@code maxLinger} elapsed (default).
+     */
+    FIXED,
+
+    /**
+     * {@code wrapFlux} sends a batch as soon as it fills one chunk of {@code maxBytes} rather than after
+     * {@code maxMessages} responses. Each batch is sized from the responses it collects, whose size is taken from
+     * their converted payload or, if they are only serialized into the chunk, estimated from the average size of the
+     * responses observed on the binding so far. {@code wrapList} fills every chunk up to {@code maxBytes} in either
+     * mode, as all its responses are at hand.
+     */
+    ADAPTIVE
+}
@@ -0,0 +1,88 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.time.Duration;
+
+/**
+ * How the responses of a binding are grouped, unset values are inherited from {@code grouping}.
+ */
+public class GroupingPolicyProperties {
+    private Integer maxBytes;
+    private Integer maxMessages;
+    private Duration maxLinger;
+    private GroupingMode mode;
+    private GroupingCompression compression;
+    private Integer compressionThreshold;
+    private Boolean streaming;
+
+    /**
+     * @return the maximum size of a grouped message in bytes, which should not exceed the message size limit of the broker
+     */
+    public Integer getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(Integer maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the maximum number of responses per grouped message
+     */
+    public Integer getMaxMessages() {
+        return maxMessages;
+    }
+
+    public void setMaxMessages(Integer maxMessages) {
+        this.maxMessages = maxMessages;
+    }
+
+    /**
+     * @return how long a response of {@code wrapFlux} waits for further responses to be grouped with
+     */
+    public Duration getMaxLinger() {
+        return maxLinger;
+    }
+
+    public void setMaxLinger(Duration maxLinger) {
+        this.maxLinger = maxLinger;
+    }
+
+    public GroupingMode getMode() {
+        return mode;
+    }
+
+    public void setMode(GroupingMode mode) {
+        this.mode = mode;
+    }
+
+    public GroupingCompression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(GroupingCompression compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * @return the size in bytes from which grouped responses are compressed, smaller ones are not worth it
+     */
+    public Integer getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(Integer compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * @return whether responses are serialized directly into the grouped message by a {@code ResponseSerializer}
+     * supporting them, instead of being converted to a byte array each first
+     */
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(Boolean streaming) {
+        this.streaming = streaming;
+    }
+}
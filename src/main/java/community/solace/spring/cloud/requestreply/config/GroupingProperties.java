@@ -0,0 +1,47 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The grouping of responses by {@code wrapList} and {@code wrapFlux}, with overrides per output binding.
+ */
+public class GroupingProperties extends GroupingPolicyProperties {
+    private Map<String, GroupingPolicyProperties> bindings = new HashMap<>();
+
+    public GroupingProperties() {
+        setMaxBytes(1_000_000);
+        setMaxMessages(10_000);
+        setMaxLinger(Duration.ofMillis(200));
+        setMode(GroupingMode.FIXED);
+        setCompression(GroupingCompression.NONE);
+        setCompressionThreshold(16_384);
+        setStreaming(false);
+    }
+
+    public Map<String, GroupingPolicyProperties> getBindings() {
+        return bindings;
+    }
+
+    public void setBindings(Map<String, GroupingPolicyProperties> bindings) {
+        this.bindings = bindings == null ? new HashMap<>() : bindings;
+    }
+
+    /**
+     * @return the policy of the output binding, with the values it does not set taken from the defaults
+     */
+    public GroupingPolicyProperties getPolicy(String bindingName) {
+        GroupingPolicyProperties binding = bindingName == null ? null : bindings.get(bindingName);
+
+        GroupingPolicyProperties policy = new GroupingPolicyProperties();
+        policy.setMaxBytes(binding != null && binding.getMaxBytes() != null ? binding.getMaxBytes() : getMaxBytes());
+        policy.setMaxMessages(binding != null && binding.getMaxMessages() != null ? binding.getMaxMessages() : getMaxMessages());
+        policy.setMaxLinger(binding != null && binding.getMaxLinger() != null ? binding.getMaxLinger() : getMaxLinger());
+        policy.setMode(binding != null && binding.getMode() != null ? binding.getMode() : getMode());
+        policy.setCompression(binding != null && binding.getCompression() != null ? binding.getCompression() : getCompression());
+        policy.setCompressionThreshold(binding != null && binding.getCompressionThreshold() != null ? binding.getCompressionThreshold() : getCompressionThreshold());
+        policy.setStreaming(binding != null && binding.getStreaming() != null ? binding.getStreaming() : getStreaming());
+        return policy;
+    }
+}
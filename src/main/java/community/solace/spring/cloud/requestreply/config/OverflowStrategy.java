@@ -0,0 +1,18 @@
+package community.solace.spring.cloud.requestreply.config;
+
+/**
+ * What happens to a request that exceeds the concurrency limit of its binding.
+ */
+public enum OverflowStrategy {
+    /**
+     * The request is rejected right away with a {@link java.util.concurrent.RejectedExecutionException} (default).
+     */
+    FAIL,
+
+    /**
+     * The request waits, without holding a thread, until another request of the binding completes.
+     * Time spent waiting counts towards the timeout of the request.
+     * Requests exceeding {@link ConcurrencyLimitProperties#getMaxQueued()} are rejected.
+     */
+    QUEUE
+}
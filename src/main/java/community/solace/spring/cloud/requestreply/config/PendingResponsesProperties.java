@@ -0,0 +1,40 @@
+package community.solace.spring.cloud.requestreply.config;
+
+public class PendingResponsesProperties {
+    private int shards = 16;
+    private int initialCapacity = 1024;
+    private int maxPendingPerBinding = 0;
+
+    /**
+     * @return the number of shards of each binding partition, rounded up to the next power of two
+     */
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * @return the number of pending requests per binding that fit without resizing
+     */
+    public int getInitialCapacity() {
+        return initialCapacity;
+    }
+
+    public void setInitialCapacity(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+    }
+
+    /**
+     * @return the maximum number of pending requests per binding, {@code 0} for unlimited
+     */
+    public int getMaxPendingPerBinding() {
+        return maxPendingPerBinding;
+    }
+
+    public void setMaxPendingPerBinding(int maxPendingPerBinding) {
+        this.maxPendingPerBinding = maxPendingPerBinding;
+    }
+}
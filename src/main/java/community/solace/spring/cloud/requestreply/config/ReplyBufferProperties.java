@@ -0,0 +1,26 @@
+package community.solace.spring.cloud.requestreply.config;
+
+public class ReplyBufferProperties {
+    private int capacity = 0;
+    private ReplyOverflowStrategy overflow = ReplyOverflowStrategy.BLOCK;
+
+    /**
+     * @return the number of replies buffered per reactive request until the subscriber requests them,
+     * or {@code 0} to hand replies to the subscriber on the thread receiving them
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public ReplyOverflowStrategy getOverflow() {
+        return overflow;
+    }
+
+    public void setOverflow(ReplyOverflowStrategy overflow) {
+        this.overflow = overflow == null ? ReplyOverflowStrategy.BLOCK : overflow;
+    }
+}
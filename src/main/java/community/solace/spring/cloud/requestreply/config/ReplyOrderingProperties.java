@@ -0,0 +1,44 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.time.Duration;
+
+public class ReplyOrderingProperties {
+    private boolean enabled = false;
+    private int capacity = 1024;
+    private Duration gapTimeout = Duration.ofSeconds(1);
+
+    /**
+     * @return whether the replies of a request are handed on in the order of their {@code replyIndex}
+     * rather than in the order they are received
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the number of indices per request a reply may be ahead of the next one to hand on;
+     * a reply further ahead gives up on the missing replies before it
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return how long replies wait for a missing reply before it is given up and the replies after it are handed on
+     */
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+}
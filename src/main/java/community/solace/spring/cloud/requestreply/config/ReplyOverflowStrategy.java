@@ -0,0 +1,22 @@
+package community.solace.spring.cloud.requestreply.config;
+
+/**
+ * What happens to a reply that arrives while the reply buffer of its request is full.
+ */
+public enum ReplyOverflowStrategy {
+    /**
+     * The thread delivering the reply waits until the subscriber consumed a reply or the request completed (default).
+     * This stalls the reply consumer of the binding, so it is only suited for bindings with few concurrent streams.
+     */
+    BLOCK,
+
+    /**
+     * The reply is discarded.
+     */
+    DROP,
+
+    /**
+     * The request is aborted and the stream fails with an {@link IllegalStateException}.
+     */
+    ERROR
+}
@@ -4,14 +4,22 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.lang.Nullable;
 
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ConfigurationProperties("spring.cloud.stream.requestreply")
 public class RequestReplyProperties {
+    private static final int MAX_CACHED_TOPIC_TEMPLATES = 10_000;
+
     private final List<String> copyHeadersOnWrap = new ArrayList<>();
-    private List<BinderMappings> bindingMapping = new ArrayList<>();
+    private volatile List<BinderMappings> bindingMapping = new ArrayList<>();
     private Map<String, String> variableReplacements = new HashMap<>();
+    private CompletionMode completionMode = CompletionMode.BLOCKING;
+    private ExecutorProperties executor = new ExecutorProperties();
+    private TimeoutSchedulerProperties timeoutScheduler = new TimeoutSchedulerProperties();
+    private PendingResponsesProperties pendingResponses = new PendingResponsesProperties();
+    private GroupingProperties grouping = new GroupingProperties();
+    private volatile BindingMappingIndex bindingMappingIndex;
+    private final Map<String, TopicTemplate> topicTemplates = new ConcurrentHashMap<>();
 
     public List<String> getCopyHeadersOnWrap() {
         return Collections.unmodifiableList(copyHeadersOnWrap);
@@ -26,9 +34,7 @@ public class RequestReplyProperties {
     }
 
     public Set<String> getBindingMappingNames() {
-        return bindingMapping.stream()
-                .map(BinderMappings::getBinding)
-                .collect(Collectors.toSet());
+        return bindingMappingIndex().getBindingNames();
     }
 
     public void setBindingMapping(List<BinderMappings> bindingMapping) {
@@ -36,45 +42,90 @@ public class RequestReplyProperties {
     }
 
     public Optional<BinderMappings> getBindingMapping(String binding) {
-        if (binding == null) {
-            return Optional.empty();
-        }
-        for (BinderMappings mapping : bindingMapping) {
-            if (Objects.equals(mapping.getBinding(), binding)) {
-                return Optional.of(mapping);
-            }
-        }
-        return Optional.empty();
+        return bindingMappingIndex().getBindingMapping(binding);
     }
 
     public Optional<String> findMatchingBinder(String destination) {
-        for (BinderMappings mapping : bindingMapping) {
-            for (Pattern topicPattern : mapping.getTopicPatterns()) {
-                if (topicPattern.matcher(destination).matches()) {
-                    return Optional.of(mapping.getBinding());
-                }
-            }
+        return bindingMappingIndex().findMatchingBinder(destination);
+    }
+
+    private BindingMappingIndex bindingMappingIndex() {
+        List<BinderMappings> mappings = bindingMapping;
+        BindingMappingIndex index = bindingMappingIndex;
+        if (index == null || !index.isBuiltFrom(mappings)) {
+            // Built on first use, as the mappings are bound after the list was set, and replaced as a whole when they
+            // are bound again. An index of a replaced list, stored by a reader racing the setter, is rebuilt as well.
+            index = new BindingMappingIndex(mappings);
+            bindingMappingIndex = index;
         }
-        return Optional.empty();
+        return index;
     }
 
     public String replaceVariables(String topic) {
         if (variableReplacements == null) {
             return topic;
         }
-        for (Map.Entry<String, String> varReplacement : variableReplacements.entrySet()) {
-            topic = topic.replace("{" + varReplacement.getKey() + "}", varReplacement.getValue());
-        }
-
-        return topic;
+        return topicTemplate(topic).render(variableReplacements);
     }
 
     public String replaceVariablesWithWildcard(String topic) {
-        return topic.replaceAll("(\\{\\w+\\})", "*");
+        return topicTemplate(topic).renderWildcards("*");
     }
 
+    private TopicTemplate topicTemplate(String topic) {
+        TopicTemplate template = topicTemplates.get(topic);
+        if (template == null) {
+            if (topicTemplates.size() >= MAX_CACHED_TOPIC_TEMPLATES) {
+                // Dropped rather than evicted entry by entry, as it only ever grows with dynamic topics.
+                topicTemplates.clear();
+            }
+            template = TopicTemplate.parse(topic);
+            topicTemplates.put(topic, template);
+        }
+        return template;
+    }
 
     public void setVariableReplacements(Map<String, String> variableReplacements) {
         this.variableReplacements = variableReplacements;
     }
+
+    public CompletionMode getCompletionMode() {
+        return completionMode;
+    }
+
+    public void setCompletionMode(CompletionMode completionMode) {
+        this.completionMode = completionMode == null ? CompletionMode.BLOCKING : completionMode;
+    }
+
+    public ExecutorProperties getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(ExecutorProperties executor) {
+        this.executor = executor == null ? new ExecutorProperties() : executor;
+    }
+
+    public TimeoutSchedulerProperties getTimeoutScheduler() {
+        return timeoutScheduler;
+    }
+
+    public void setTimeoutScheduler(TimeoutSchedulerProperties timeoutScheduler) {
+        this.timeoutScheduler = timeoutScheduler == null ? new TimeoutSchedulerProperties() : timeoutScheduler;
+    }
+
+    public PendingResponsesProperties getPendingResponses() {
+        return pendingResponses;
+    }
+
+    public void setPendingResponses(PendingResponsesProperties pendingResponses) {
+        this.pendingResponses = pendingResponses == null ? new PendingResponsesProperties() : pendingResponses;
+    }
+
+    public GroupingProperties getGrouping() {
+        return grouping;
+    }
+
+    public void setGrouping(GroupingProperties grouping) {
+        this.grouping = grouping == null ? new GroupingProperties() : grouping;
+    }
 }
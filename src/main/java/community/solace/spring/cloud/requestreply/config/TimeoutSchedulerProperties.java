@@ -0,0 +1,31 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.time.Duration;
+
+public class TimeoutSchedulerProperties {
+    private Duration tickDuration = Duration.ofMillis(10);
+    private int ticksPerWheel = 512;
+
+    /**
+     * @return the resolution of request timeouts: a request times out at most one tick after its timeout period
+     */
+    public Duration getTickDuration() {
+        return tickDuration;
+    }
+
+    public void setTickDuration(Duration tickDuration) {
+        this.tickDuration = tickDuration;
+    }
+
+    /**
+     * @return the number of slots of the timing wheel; timeouts longer than {@code tickDuration * ticksPerWheel}
+     * take several rounds of the wheel
+     */
+    public int getTicksPerWheel() {
+        return ticksPerWheel;
+    }
+
+    public void setTicksPerWheel(int ticksPerWheel) {
+        this.ticksPerWheel = ticksPerWheel;
+    }
+}
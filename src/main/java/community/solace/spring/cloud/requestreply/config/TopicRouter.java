@@ -0,0 +1,268 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the binding of a request destination from the {@code topicPatterns} of the binding mappings.
+ * <p>
+ * Patterns are analyzed once: literal topics are looked up in a map, literal prefixes followed by {@code .*} or
+ * {@code .+} in a trie, and patterns made of literals and whole-level wildcards ({@code [^/]+}, {@code [^/]*}),
+ * which correspond to the {@code *} and {@code >} wildcards of Solace, are matched level by level.
+ * Only the remaining patterns are matched as regular expressions.
+ * As before, the first mapping in configuration order with a matching pattern wins.
+ */
+final class TopicRouter {
+    // Beyond this, the cache is dropped rather than evicted entry by entry, as it only ever grows with dynamic topics.
+    private static final int MAX_CACHED_DESTINATIONS = 10_000;
+
+    private final List<String> bindings = new ArrayList<>();
+    private final Map<String, Integer> exact = new HashMap<>();
+    private final PrefixNode prefixes = new PrefixNode();
+    private final List<SegmentPattern> segmentPatterns = new ArrayList<>();
+    private final List<RegexPattern> regexPatterns = new ArrayList<>();
+    private final Map<String, Optional<String>> cache = new ConcurrentHashMap<>();
+
+    TopicRouter(List<BinderMappings> mappings) {
+        for (BinderMappings mapping : mappings) {
+            int order = bindings.size();
+            bindings.add(mapping.getBinding());
+            for (Pattern topicPattern : mapping.getTopicPatterns()) {
+                add(order, topicPattern);
+            }
+        }
+        segmentPatterns.sort(Comparator.comparingInt(SegmentPattern::order));
+        regexPatterns.sort(Comparator.comparingInt(RegexPattern::order));
+    }
+
+    Optional<String> findMatchingBinder(String destination) {
+        Optional<String> binding = cache.get(destination);
+        if (binding == null) {
+            if (cache.size() >= MAX_CACHED_DESTINATIONS) {
+                cache.clear();
+            }
+            binding = route(destination);
+            cache.put(destination, binding);
+        }
+        return binding;
+    }
+
+    private Optional<String> route(String destination) {
+        int best = exact.getOrDefault(destination, Integer.MAX_VALUE);
+        best = Math.min(best, prefixes.match(destination));
+
+        for (SegmentPattern pattern : segmentPatterns) {
+            if (pattern.order() >= best) {
+                break;
+            }
+            if (pattern.matches(destination)) {
+                best = pattern.order();
+            }
+        }
+        for (RegexPattern pattern : regexPatterns) {
+            if (pattern.order() >= best) {
+                break;
+            }
+            if (pattern.pattern().matcher(destination).matches()) {
+                best = pattern.order();
+            }
+        }
+
+        return best == Integer.MAX_VALUE ? Optional.empty() : Optional.of(bindings.get(best));
+    }
+
+    private void add(int order, Pattern topicPattern) {
+        List<Token> tokens = tokenize(topicPattern.pattern());
+        if (tokens == null) {
+            regexPatterns.add(new RegexPattern(order, topicPattern));
+            return;
+        }
+
+        Token last = tokens.isEmpty() ? null : tokens.get(tokens.size() - 1);
+        boolean suffix = last != null && (last.type == TokenType.ANY_SUFFIX || last.type == TokenType.NON_EMPTY_SUFFIX);
+        int literalTokens = suffix ? tokens.size() - 1 : tokens.size();
+        if (literalTokens <= 1 && (literalTokens == 0 || tokens.get(0).type == TokenType.LITERAL)) {
+            String literal = literalTokens == 0 ? "" : tokens.get(0).literal;
+            if (!suffix) {
+                exact.merge(literal, order, Math::min);
+            } else {
+                prefixes.add(literal, order, last.type == TokenType.NON_EMPTY_SUFFIX);
+            }
+            return;
+        }
+
+        segmentPatterns.add(new SegmentPattern(order, tokens));
+    }
+
+    /**
+     * @return the tokens of the pattern, or {@code null} if it is no plain topic pattern and has to be matched as regex
+     */
+    static List<Token> tokenize(String pattern) {
+        int start = pattern.startsWith("^") ? 1 : 0;
+        int end = pattern.endsWith("$") && !pattern.endsWith("\\$") ? pattern.length() - 1 : pattern.length();
+
+        List<Token> tokens = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = start;
+        while (i < end) {
+            char c = pattern.charAt(i);
+            if (pattern.startsWith("[^/]+", i) || pattern.startsWith("[^/]*", i)) {
+                int next = i + 5;
+                // A level wildcard only matches up to the next level, so it has to be followed by one.
+                if (next != end && pattern.charAt(next) != '/' && !pattern.startsWith(".*", next)) {
+                    return null;
+                }
+                flush(literal, tokens);
+                tokens.add(new Token(pattern.charAt(i + 4) == '+' ? TokenType.LEVEL : TokenType.OPTIONAL_LEVEL, null));
+                i = next;
+            } else if ((pattern.startsWith(".*", i) || pattern.startsWith(".+", i)) && i + 2 == end) {
+                if (pattern.charAt(i + 1) == '+' && !tokens.isEmpty() && tokens.get(tokens.size() - 1).literal == null && literal.isEmpty()) {
+                    // A level wildcard would have to give up characters for the suffix.
+                    return null;
+                }
+                flush(literal, tokens);
+                tokens.add(new Token(pattern.charAt(i + 1) == '*' ? TokenType.ANY_SUFFIX : TokenType.NON_EMPTY_SUFFIX, null));
+                i = end;
+            } else if (c == '\\' && i + 1 < end && !Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                literal.append(pattern.charAt(i + 1));
+                i += 2;
+            } else if (".[]{}()*+?^$|\\".indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        flush(literal, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder literal, List<Token> tokens) {
+        if (!literal.isEmpty()) {
+            tokens.add(new Token(TokenType.LITERAL, literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+    enum TokenType {
+        LITERAL,
+        /**
+         * {@code [^/]+}, one non-empty level, Solace {@code *}.
+         */
+        LEVEL,
+        /**
+         * {@code [^/]*}, one level that may be empty.
+         */
+        OPTIONAL_LEVEL,
+        /**
+         * Trailing {@code .*}.
+         */
+        ANY_SUFFIX,
+        /**
+         * Trailing {@code .+}, Solace {@code >} if preceded by a level separator.
+         */
+        NON_EMPTY_SUFFIX
+    }
+
+    record Token(TokenType type, String literal) {
+    }
+
+    private record SegmentPattern(int order, List<Token> tokens) {
+        boolean matches(String destination) {
+            int pos = 0;
+            for (Token token : tokens) {
+                switch (token.type()) {
+                    case LITERAL -> {
+                        if (!destination.startsWith(token.literal(), pos)) {
+                            return false;
+                        }
+                        pos += token.literal().length();
+                    }
+                    case LEVEL, OPTIONAL_LEVEL -> {
+                        int levelEnd = destination.indexOf('/', pos);
+                        levelEnd = levelEnd < 0 ? destination.length() : levelEnd;
+                        if (token.type() == TokenType.LEVEL && levelEnd == pos) {
+                            return false;
+                        }
+                        pos = levelEnd;
+                    }
+                    case ANY_SUFFIX -> {
+                        return true;
+                    }
+                    case NON_EMPTY_SUFFIX -> {
+                        return pos < destination.length();
+                    }
+                }
+            }
+            return pos == destination.length();
+        }
+    }
+
+    private record RegexPattern(int order, Pattern pattern) {
+    }
+
+    /**
+     * Trie of literal prefixes, each node knowing the first mapping whose prefix ends there.
+     */
+    private static final class PrefixNode {
+        private char[] keys = new char[0];
+        private PrefixNode[] children = new PrefixNode[0];
+        private int anySuffixOrder = Integer.MAX_VALUE;
+        private int nonEmptySuffixOrder = Integer.MAX_VALUE;
+
+        void add(String prefix, int order, boolean nonEmptySuffix) {
+            PrefixNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.childOrCreate(prefix.charAt(i));
+            }
+            if (nonEmptySuffix) {
+                node.nonEmptySuffixOrder = Math.min(node.nonEmptySuffixOrder, order);
+            } else {
+                node.anySuffixOrder = Math.min(node.anySuffixOrder, order);
+            }
+        }
+
+        int match(String destination) {
+            int best = Integer.MAX_VALUE;
+            PrefixNode node = this;
+            for (int i = 0; node != null; i++) {
+                best = Math.min(best, node.anySuffixOrder);
+                if (i < destination.length()) {
+                    best = Math.min(best, node.nonEmptySuffixOrder);
+                    node = node.child(destination.charAt(i));
+                } else {
+                    node = null;
+                }
+            }
+            return best;
+        }
+
+        private PrefixNode child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private PrefixNode childOrCreate(char key) {
+            PrefixNode child = child(key);
+            if (child == null) {
+                child = new PrefixNode();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
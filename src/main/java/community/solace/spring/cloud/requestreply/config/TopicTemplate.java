@@ -0,0 +1,110 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A topic parsed once into literal parts and {@code {variable}} placeholders, which renders in a single pass.
+ */
+final class TopicTemplate {
+    private final String topic;
+    // Literal parts, with the variable names at odd indices.
+    private final String[] parts;
+    // Whether the variable at an odd index of parts is a word ({\w+}), only those are wildcarded.
+    private final boolean[] words;
+
+    private TopicTemplate(String topic, String[] parts) {
+        this.topic = topic;
+        this.parts = parts;
+        this.words = new boolean[parts.length];
+        for (int i = 1; i < parts.length; i += 2) {
+            words[i] = parts[i].chars().allMatch(c -> isWordChar((char) c));
+        }
+    }
+
+    static TopicTemplate parse(String topic) {
+        List<String> parts = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while (i < topic.length()) {
+            int nameEnd = topic.charAt(i) == '{' ? variableNameEnd(topic, i + 1) : -1;
+            if (nameEnd < 0) {
+                i++;
+                continue;
+            }
+
+            parts.add(topic.substring(literalStart, i));
+            parts.add(topic.substring(i + 1, nameEnd));
+            i = nameEnd + 1;
+            literalStart = i;
+        }
+        parts.add(topic.substring(literalStart));
+
+        return new TopicTemplate(topic, parts.toArray(new String[0]));
+    }
+
+    /**
+     * @return the index of the closing brace of a variable name starting at {@code start}, or -1 if there is none
+     */
+    private static int variableNameEnd(String topic, int start) {
+        int i = start;
+        while (i < topic.length() && topic.charAt(i) != '{' && topic.charAt(i) != '}') {
+            i++;
+        }
+        return i > start && i < topic.length() && topic.charAt(i) == '}' ? i : -1;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    boolean hasVariables() {
+        return parts.length > 1;
+    }
+
+    /**
+     * @return the topic with every variable that has a replacement replaced, others are kept as they are
+     */
+    String render(Map<String, String> replacements) {
+        if (!hasVariables() || replacements == null || replacements.isEmpty()) {
+            return topic;
+        }
+
+        StringBuilder rendered = new StringBuilder(topic.length() + 16);
+        for (int i = 0; i < parts.length; i++) {
+            if (i % 2 == 0) {
+                rendered.append(parts[i]);
+            } else {
+                String replacement = replacements.get(parts[i]);
+                if (replacement == null) {
+                    rendered.append('{').append(parts[i]).append('}');
+                } else {
+                    rendered.append(replacement);
+                }
+            }
+        }
+        return rendered.toString();
+    }
+
+    /**
+     * @return the topic with every {@code {\w+}} variable replaced by the given wildcard
+     */
+    String renderWildcards(String wildcard) {
+        if (!hasVariables()) {
+            return topic;
+        }
+
+        StringBuilder rendered = new StringBuilder(topic.length());
+        for (int i = 0; i < parts.length; i++) {
+            if (i % 2 == 0) {
+                rendered.append(parts[i]);
+            } else if (words[i]) {
+                rendered.append(wildcard);
+            } else {
+                rendered.append('{').append(parts[i]).append('}');
+            }
+        }
+        return rendered.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.solacesystems.jcsmp.SDTException;
+import com.solacesystems.jcsmp.SDTStream;
+import community.solace.spring.cloud.requestreply.service.header.parser.SpringHeaderParser;
+import community.solace.spring.cloud.requestreply.util.MessageChunker;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * Unpacks a grouped reply, an {@link SDTStream} of type and payload pairs, into one message per element.
+ * A deflated element ({@link MessageChunker#DEFLATED_BYTES_MESSAGES}) is inflated into the messages it contains.
+ * <p>
+ * Elements are handed to the consumer one by one while the stream is read, rather than collected first. Their headers
+ * are prepared once from the grouped reply, each element gets its own {@link MessageHeaders} of them though, and so its
+ * own id and timestamp.
+ */
+final class GroupedReplyDecoder {
+
+    private GroupedReplyDecoder() {
+    }
+
+    /**
+     * @return whether the message is a grouped reply
+     */
+    static boolean isGrouped(Message<?> message) {
+        return message.getPayload() instanceof SDTStream &&
+                Boolean.TRUE.equals(message.getHeaders().get(SpringHeaderParser.GROUPED_MESSAGES));
+    }
+
+    /**
+     * @param message  the grouped reply
+     * @param elements receives the elements in order, elements decoded before a malformed one were already received
+     */
+    static void decode(Message<SDTStream> message, Consumer<Message<?>> elements) {
+        Map<String, Object> headers = elementHeaders(message);
+        SDTStream stream = message.getPayload();
+        try {
+            while (stream.hasRemaining()) {
+                switch (stream.readString()) {
+                    case "BytesMessage" -> elements.accept(new GenericMessage<>(stream.readBytes(), headers));
+                    case "TextMessage", "XMLContentMessage" -> elements.accept(
+                            new GenericMessage<>(new String(stream.readBytes(), StandardCharsets.UTF_8), headers));
+                    case MessageChunker.DEFLATED_BYTES_MESSAGES -> MessageChunker.inflate(
+                            stream.readBytes(),
+                            payload -> elements.accept(new GenericMessage<>(payload, headers)));
+                    case "StreamMessage", "MapMessage" -> throw new IllegalArgumentException(
+                            "Message type: StreamMessage and MapMessage are not supported for " +
+                                    SpringHeaderParser.GROUPED_MESSAGES
+                    );
+                }
+            }
+        } catch (SDTException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static Map<String, Object> elementHeaders(Message<?> message) {
+        // When creating grouped (SDTStream) responses, we temporarily move the content-type to
+        // SpringHeaderParser.GROUPED_CONTENT_TYPE to prevent Spring from re-encoding the outer message.
+        // When unpacking, restore it so downstream conversion (e.g. JSON -> POJO) works as expected.
+        Map<String, Object> headers = new IntegrationMessageHeaderAccessor(message).toMap();
+        Object groupedContentType = headers.get(SpringHeaderParser.GROUPED_CONTENT_TYPE);
+        if (groupedContentType != null && headers.get(MessageHeaders.CONTENT_TYPE) == null) {
+            headers.put(MessageHeaders.CONTENT_TYPE, groupedContentType);
+        }
+        return headers;
+    }
+}
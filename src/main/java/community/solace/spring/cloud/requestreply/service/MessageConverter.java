@@ -1,21 +1,30 @@
 package community.solace.spring.cloud.requestreply.service;
 
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.cloud.function.context.FunctionProperties;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
 import org.springframework.messaging.converter.CompositeMessageConverter;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
 import org.springframework.util.StringUtils;
 
 @Service
 public class MessageConverter {
+    // Dropped rather than evicted entry by entry, there are only as many content types and payload types as the
+    // application uses.
+    private static final int MAX_CACHED_PLANS = 10_000;
 
     private final CompositeMessageConverter messageConverter;
+    private final Map<String, ConversionPlan> plans = new ConcurrentHashMap<>();
 
     public MessageConverter(CompositeMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
@@ -30,30 +39,143 @@ public class MessageConverter {
                 ? (String) msg.getHeaders().get(FunctionProperties.EXPECT_CONTENT_TYPE_HEADER)
                 : expectedContentType;
 
-        if (!StringUtils.hasText((String) msg.getHeaders().get(MessageHeaders.CONTENT_TYPE))) {
-            Map<String, Object> headersMap = new HashMap<>(msg.getHeaders());
-            headersMap.put(MessageHeaders.CONTENT_TYPE, expectedContentType);
-            msg = MessageBuilder
-                    .withPayload(msg.getPayload())
-                    .copyHeaders(headersMap)
-                    .build();
-        }
-
-        if (StringUtils.hasText((String) msg.getHeaders().get(MessageHeaders.CONTENT_TYPE))) {
-            Map<String, Object> headersMap = new HashMap<>(msg.getHeaders());
-            String[] expectedContentTypes = StringUtils.delimitedListToStringArray(contentType, ",");
-            for (String ct : expectedContentTypes) {
-                headersMap.put(MessageHeaders.CONTENT_TYPE, ct);
-                Message<?> message = MessageBuilder
-                        .withPayload(msg.getPayload())
-                        .copyHeaders(headersMap)
-                        .build();
-                Message<?> result = messageConverter.toMessage(message.getPayload(), message.getHeaders());
+        boolean hasContentType = hasContentType(msg.getHeaders());
+        if (hasContentType || StringUtils.hasText(expectedContentType)) {
+            for (String ct : plan(contentType).contentTypes) {
+                MessageHeaderAccessor accessor = new MessageHeaderAccessor();
+                accessor.copyHeaders(msg.getHeaders());
+                accessor.setHeader(MessageHeaders.CONTENT_TYPE, ct);
+                Message<?> result = messageConverter.toMessage(msg.getPayload(), accessor.getMessageHeaders());
                 if (result != null) {
                     return result;
                 }
             }
         }
-        return msg;
+
+        if (hasContentType) {
+            return msg;
+        }
+        return MessageBuilder.fromMessage(msg)
+                .setHeader(MessageHeaders.CONTENT_TYPE, expectedContentType)
+                .build();
+    }
+
+    /**
+     * @param contentType the content types to convert to, comma separated, in order of preference
+     * @return the cached plan converting payloads without headers of their own to the content type
+     */
+    public ConversionPlan plan(String contentType) {
+        ConversionPlan plan = plans.get(contentType);
+        if (plan == null) {
+            if (plans.size() >= MAX_CACHED_PLANS) {
+                plans.clear();
+            }
+            plan = plans.computeIfAbsent(contentType, ConversionPlan::new);
+        }
+        return plan;
+    }
+
+    private static boolean hasContentType(MessageHeaders headers) {
+        Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+        return contentType != null && StringUtils.hasText(contentType.toString());
+    }
+
+    /**
+     * Converts bare payloads, as {@link #convertMessageToBytesIfNecessary} does for messages without headers,
+     * with the content types parsed once.
+     * <p>
+     * Per payload type, the converter and content type found for the first payload are remembered and tried directly
+     * for the next ones, without asking the converters before it again. Only if it cannot convert a payload all
+     * converters are asked again. The plan assumes, as Spring's converters do, that whether a converter handles a
+     * payload depends on its type and the content type only.
+     */
+    public final class ConversionPlan {
+        private final String contentType;
+        private final List<String> contentTypes;
+        private final List<MessageHeaders> headers;
+        private final MessageHeaders fallbackHeaders;
+        private final Map<Class<?>, Target> targets = new ConcurrentHashMap<>();
+
+        private ConversionPlan(String contentType) {
+            this.contentType = contentType;
+            this.contentTypes = List.of(StringUtils.delimitedListToStringArray(contentType, ","));
+            this.headers = contentTypes.stream()
+                    .map(ct -> new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, ct)))
+                    .toList();
+            this.fallbackHeaders = new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, contentType));
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return the payload converted, or as it is with the content type of the plan if no converter handles it
+         */
+        public Message<?> convert(Object payload) {
+            if (payload instanceof byte[]) {
+                return MessageBuilder.withPayload(payload).build();
+            }
+
+            if (StringUtils.hasText(contentType)) {
+                Target target = targets.get(payload.getClass());
+                if (target != null) {
+                    Message<?> result = target.converter().toMessage(payload, target.headers());
+                    if (result != null) {
+                        return result;
+                    }
+                }
+
+                Message<?> result = search(payload);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return MessageBuilder.createMessage(payload, fallbackHeaders);
+        }
+
+        /**
+         * Asks the converters in the order the composite converter does, see {@code SmartCompositeMessageConverter},
+         * for each content type in order of preference.
+         */
+        @Nullable
+        private Message<?> search(Object payload) {
+            for (int i = 0; i < contentTypes.size(); i++) {
+                MimeType mimeType = MimeType.valueOf(contentTypes.get(i));
+                for (org.springframework.messaging.converter.MessageConverter converter : messageConverter.getConverters()) {
+                    if (mimeType.isConcrete()) {
+                        Message<?> result = convert(converter, payload, headers.get(i));
+                        if (result != null) {
+                            return result;
+                        }
+                    } else if (converter instanceof AbstractMessageConverter abstractConverter) {
+                        for (MimeType supported : abstractConverter.getSupportedMimeTypes()) {
+                            if (supported.isCompatibleWith(mimeType)) {
+                                Message<?> result = convert(converter, payload, new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, supported)));
+                                if (result != null) {
+                                    return result;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        private Message<?> convert(org.springframework.messaging.converter.MessageConverter converter, Object payload, MessageHeaders headers) {
+            Message<?> result = converter.toMessage(payload, headers);
+            if (result != null) {
+                if (targets.size() >= MAX_CACHED_PLANS) {
+                    targets.clear();
+                }
+                targets.put(payload.getClass(), new Target(converter, headers));
+            }
+            return result;
+        }
+    }
+
+    private record Target(org.springframework.messaging.converter.MessageConverter converter, MessageHeaders headers) {
     }
 }
@@ -0,0 +1,38 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The timers of the phases of the round trips of one binding, published as {@code requestReply.phase} tagged with
+ * the binding and the phase, so a slower round trip can be attributed to the requester, the broker or the replier.
+ * All phases are measured with {@link System#nanoTime()}.
+ *
+ * @param build      building the request message, including the {@code RequestSendingInterceptor}
+ * @param send       handing the request to {@code StreamBridge.send}
+ * @param firstReply from sending the request until its first reply was received
+ * @param interReply between two replies of the same request
+ * @param lastReply  from sending the request until the reply completing it was received
+ * @param conversion converting a reply to the type expected by the requester
+ */
+public record PhaseTimers(Timer build, Timer send, Timer firstReply, Timer interReply, Timer lastReply, Timer conversion) {
+
+    public static PhaseTimers register(String bindingName, MeterRegistry registry) {
+        return new PhaseTimers(
+                timer("build", bindingName, registry),
+                timer("send", bindingName, registry),
+                timer("firstReply", bindingName, registry),
+                timer("interReply", bindingName, registry),
+                timer("lastReply", bindingName, registry),
+                timer("conversion", bindingName, registry));
+    }
+
+    private static Timer timer(String phase, String bindingName, MeterRegistry registry) {
+        // One description for all phases, some registries require it to be the same for all meters of a name.
+        return Timer.builder("requestReply.phase")
+                .description("RequestReply time spent in a phase of a round trip")
+                .tag("binding", bindingName)
+                .tag("phase", phase)
+                .register(registry);
+    }
+}
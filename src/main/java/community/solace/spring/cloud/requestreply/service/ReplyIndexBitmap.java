@@ -0,0 +1,69 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free set of reply indices, for deduplicating the replies of one request received by many consumer threads.
+ * <p>
+ * The bits are kept in pages of doubling size, the first one holding indices 0 to 63, each allocated when an index
+ * in it is first set. So a request with few replies allocates a single word, while the pages of large requests never
+ * need to be copied or resized. Bits are set by compare-and-set on their word.
+ */
+final class ReplyIndexBitmap {
+    private static final int FIRST_PAGE_BITS_LOG2 = 6;
+    // Enough pages for all non-negative int indices.
+    private static final int PAGES = Integer.SIZE - FIRST_PAGE_BITS_LOG2;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGES);
+
+    /**
+     * @param index a non-negative index
+     * @return whether the index was set before, it is set in any case afterwards
+     */
+    boolean testAndSet(int index) {
+        long position = (long) index + (1L << FIRST_PAGE_BITS_LOG2);
+        int pageBitsLog2 = Long.SIZE - 1 - Long.numberOfLeadingZeros(position);
+        AtomicLongArray page = page(pageBitsLog2 - FIRST_PAGE_BITS_LOG2, pageBitsLog2);
+
+        int bit = (int) (position - (1L << pageBitsLog2));
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = page.get(word);
+            if ((current & mask) != 0) {
+                return true;
+            }
+        } while (!page.compareAndSet(word, current, current | mask));
+        return false;
+    }
+
+    /**
+     * @param index a non-negative index
+     * @return whether the index was set
+     */
+    boolean test(int index) {
+        long position = (long) index + (1L << FIRST_PAGE_BITS_LOG2);
+        int pageBitsLog2 = Long.SIZE - 1 - Long.numberOfLeadingZeros(position);
+        AtomicLongArray page = pages.get(pageBitsLog2 - FIRST_PAGE_BITS_LOG2);
+        if (page == null) {
+            return false;
+        }
+
+        int bit = (int) (position - (1L << pageBitsLog2));
+        return (page.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    private AtomicLongArray page(int page, int pageBitsLog2) {
+        AtomicLongArray words = pages.get(page);
+        if (words == null) {
+            AtomicLongArray allocated = new AtomicLongArray(1 << (pageBitsLog2 - 6));
+            words = pages.compareAndExchange(page, null, allocated);
+            if (words == null) {
+                words = allocated;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,124 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free set of reply indices in bounded memory, for streams of unknown and possibly unlimited length.
+ * <p>
+ * Indices are grouped into blocks of 32. All blocks below the low watermark are complete, every index in them was
+ * seen. The blocks from the low watermark on are kept in a ring of slots, each holding the number of its block
+ * and the bits of that block in one word, so a slot is claimed for a newer block and updated by the same
+ * compare-and-set. A slot is only reused for a newer block once its block is below the low watermark.
+ * <p>
+ * So deduplication is exact as long as no index is missing for longer than the window: indices beyond the window,
+ * past a gap that was not filled, are not tracked and reported as new.
+ */
+final class ReplyIndexWindow {
+    private static final int BLOCK_BITS_LOG2 = 5;
+    private static final long FULL_BLOCK = 0xFFFF_FFFFL;
+
+    private final AtomicLongArray slots;
+    private final int slotMask;
+    // The lowest block not known to be complete.
+    private final AtomicLong lowWatermark;
+
+    /**
+     * @param firstIndex the lowest index the window tracks, lower ones are reported as seen
+     * @param windowBits the number of indices tracked beyond the low watermark, rounded up to a power of two
+     */
+    ReplyIndexWindow(long firstIndex, int windowBits) {
+        int blocks = Math.max(1, (windowBits + (1 << BLOCK_BITS_LOG2) - 1) >>> BLOCK_BITS_LOG2);
+        this.slots = new AtomicLongArray(blocks == 1 ? 1 : Integer.highestOneBit(blocks - 1) << 1);
+        this.slotMask = slots.length() - 1;
+
+        long firstBlock = firstIndex >>> BLOCK_BITS_LOG2;
+        this.lowWatermark = new AtomicLong(firstBlock);
+        long below = firstIndex & ((1 << BLOCK_BITS_LOG2) - 1);
+        if (below > 0) {
+            // the indices of the first block below the first index count as seen
+            slots.set((int) (firstBlock & slotMask), tag(firstBlock) | ((1L << below) - 1));
+        }
+    }
+
+    /**
+     * @param index a non-negative index
+     * @return whether the index was seen before, or is below the first index, it is seen afterwards if tracked
+     */
+    boolean testAndSet(long index) {
+        long block = index >>> BLOCK_BITS_LOG2;
+        long bit = 1L << (index & ((1 << BLOCK_BITS_LOG2) - 1));
+        int slot = (int) (block & slotMask);
+        long tag = tag(block);
+
+        while (true) {
+            long low = lowWatermark.get();
+            if (block < low) {
+                return true;
+            }
+            if (block > low + slotMask) {
+                return false;
+            }
+
+            long current = slots.get(slot);
+            long currentTag = current & ~FULL_BLOCK;
+            long updated;
+            if (currentTag == tag) {
+                if ((current & bit) != 0) {
+                    return true;
+                }
+                updated = current | bit;
+            } else if (Long.compareUnsigned(currentTag, tag) < 0) {
+                // never used, or used by a block below the low watermark
+                updated = tag | bit;
+            } else {
+                // claimed by a newer block, so the low watermark moved past this one
+                continue;
+            }
+
+            if (slots.compareAndSet(slot, current, updated)) {
+                if ((updated & FULL_BLOCK) == FULL_BLOCK) {
+                    advance();
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @param index a non-negative index
+     * @return whether the index was seen, or is below the first index
+     */
+    boolean test(long index) {
+        long block = index >>> BLOCK_BITS_LOG2;
+        long low = lowWatermark.get();
+        if (block < low) {
+            return true;
+        }
+        if (block > low + slotMask) {
+            return false;
+        }
+
+        long current = slots.get((int) (block & slotMask));
+        if ((current & ~FULL_BLOCK) == tag(block)) {
+            return (current & (1L << (index & ((1 << BLOCK_BITS_LOG2) - 1)))) != 0;
+        }
+        // the slot was claimed by a newer block only once this one was complete
+        return lowWatermark.get() > block;
+    }
+
+    private void advance() {
+        long low = lowWatermark.get();
+        while (slots.get((int) (low & slotMask)) == (tag(low) | FULL_BLOCK)) {
+            lowWatermark.compareAndSet(low, low + 1);
+            low = lowWatermark.get();
+        }
+    }
+
+    /**
+     * A slot holds the block number plus one in its upper half, zero for never used, and the bits in its lower half.
+     */
+    private static long tag(long block) {
+        return (block + 1) << Integer.SIZE;
+    }
+}
@@ -1,7 +1,15 @@
 package community.solace.spring.cloud.requestreply.service;
 
 import community.solace.spring.cloud.requestreply.config.RequestReplyProperties;
+import community.solace.spring.cloud.requestreply.service.correlation.CorrelationIdGenerator;
+import community.solace.spring.cloud.requestreply.service.correlation.SequentialCorrelationIdGenerator;
 import community.solace.spring.cloud.requestreply.service.header.parser.SolaceHeaderParser;
+import community.solace.spring.cloud.requestreply.service.registry.PendingResponseRegistry;
+import community.solace.spring.cloud.requestreply.service.registry.ShardedPendingResponseRegistry;
+import community.solace.spring.cloud.requestreply.service.serializer.JacksonResponseSerializer;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -45,9 +53,33 @@ public class RequestReplyAutoConfiguration {
         return new SolaceHeaderParser();
     }
 
+    @Bean
+    @ConditionalOnMissingBean(PendingResponseRegistry.class)
+    public PendingResponseRegistry pendingResponseRegistry(RequestReplyProperties requestReplyProperties) {
+        return new ShardedPendingResponseRegistry(requestReplyProperties.getPendingResponses());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CorrelationIdGenerator.class)
+    public CorrelationIdGenerator correlationIdGenerator() {
+        return new SequentialCorrelationIdGenerator();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public RequestReplyServiceImpl requestReplyService() {
         return new RequestReplyServiceImpl();
     }
+
+    @Configuration
+    @ConditionalOnClass(name = {
+            "tools.jackson.databind.json.JsonMapper"
+    })
+    static class JacksonResponseSerializerConfiguration {
+        @Bean
+        @ConditionalOnMissingBean(JacksonResponseSerializer.class)
+        public JacksonResponseSerializer jacksonResponseSerializer(ObjectProvider<JsonMapper> jsonMapper) {
+            return new JacksonResponseSerializer(jsonMapper.getIfAvailable(JsonMapper::new));
+        }
+    }
 }
\ No newline at end of file
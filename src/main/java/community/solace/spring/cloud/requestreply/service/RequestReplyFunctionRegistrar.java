@@ -24,7 +24,7 @@ import java.util.function.Supplier;
 /**
  * Registers one {@link FunctionRegistration} per configured
  * {@code spring.cloud.stream.requestreply.bindingMapping} so that spring-cloud-stream routes incoming
- * replies to {@link RequestReplyServiceImpl#onReplyReceived(Message)}.
+ * replies to {@link RequestReplyServiceImpl#onReplyReceived(String, Message)}.
  *
  * <p>This logic used to live in an {@link org.springframework.context.ApplicationContextInitializer}.
  * Spring Boot applies such initializers to <em>every</em> application context it creates - including
@@ -82,17 +82,17 @@ class RequestReplyFunctionRegistrar implements ImportBeanDefinitionRegistrar, En
             }
 
             final RootBeanDefinition definition = new RootBeanDefinition(FunctionRegistration.class);
-            definition.setInstanceSupplier(replyConsumerSupplier());
+            definition.setInstanceSupplier(replyConsumerSupplier(bindingName));
             registry.registerBeanDefinition(bindingName, definition);
 
             LOG.info("Register binding: {} for receiving replies", bindingName);
         }
     }
 
-    private Supplier<FunctionRegistration<Consumer<Message<?>>>> replyConsumerSupplier() {
+    private Supplier<FunctionRegistration<Consumer<Message<?>>>> replyConsumerSupplier(final String bindingName) {
         return () -> {
             final RequestReplyServiceImpl service = beanFactory.getBean(RequestReplyServiceImpl.class);
-            return new FunctionRegistration<Consumer<Message<?>>>(service::onReplyReceived)
+            return new FunctionRegistration<Consumer<Message<?>>>(message -> service.onReplyReceived(bindingName, message))
                     .type(REPLY_CONSUMER_TYPE.getType());
         };
     }
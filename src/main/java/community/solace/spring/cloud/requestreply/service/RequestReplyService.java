@@ -7,6 +7,9 @@ import jakarta.validation.constraints.NotNull;
 import reactor.core.publisher.Flux;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
@@ -269,4 +272,55 @@ public interface RequestReplyService {
             @NotNull @Valid Duration timeoutPeriod,
             Map<String, Object> additionalHeaders
     );
+
+    /**
+     * sends all given requests to the given message channel, awaits their responses and maps each to the provided class.
+     * this is non-blocking.
+     * The requests share one timeout, which starts when the method is called.
+     *
+     * @param <Q>           question/request type
+     * @param <A>           answer/response type
+     * @param requests      the requests to be sent
+     * @param bindingName   the message channel name to send the requests to. Example: requestReplyRepliesDemoTibrv
+     * @param expectedClass the class the responses shall be mapped to
+     * @param timeoutPeriod the timeout when to give up waiting for the responses
+     * @return one {@link CompletableFuture} per request, in the iteration order of the requests
+     */
+    default <Q, A> List<CompletableFuture<A>> requestReplyToBindingBatch(
+            Collection<Q> requests,
+            @NotEmpty String bindingName,
+            Class<A> expectedClass,
+            @NotNull @Valid Duration timeoutPeriod
+    ) throws TimeoutException {
+        return requestReplyToBindingBatch(requests, bindingName, expectedClass, timeoutPeriod, null);
+    }
+
+    /**
+     * sends all given requests to the given message channel, awaits their responses and maps each to the provided class.
+     * this is non-blocking.
+     * The requests share one timeout, which starts when the method is called.
+     * A request that can not be sent (for example due to a concurrency limit) fails its own future only.
+     *
+     * @param <Q>               question/request type
+     * @param <A>               answer/response type
+     * @param requests          the requests to be sent
+     * @param bindingName       the message channel name to send the requests to. Example: requestReplyRepliesDemoTibrv
+     * @param expectedClass     the class the responses shall be mapped to
+     * @param timeoutPeriod     the timeout when to give up waiting for the responses
+     * @param additionalHeaders additional headers to be added to every request message
+     * @return one {@link CompletableFuture} per request, in the iteration order of the requests
+     */
+    default <Q, A> List<CompletableFuture<A>> requestReplyToBindingBatch(
+            Collection<Q> requests,
+            @NotEmpty String bindingName,
+            Class<A> expectedClass,
+            @NotNull @Valid Duration timeoutPeriod,
+            Map<String, Object> additionalHeaders
+    ) throws TimeoutException {
+        List<CompletableFuture<A>> futures = new ArrayList<>(requests.size());
+        for (Q request : requests) {
+            futures.add(requestReplyToBinding(request, bindingName, expectedClass, timeoutPeriod, additionalHeaders));
+        }
+        return futures;
+    }
 }
@@ -1,16 +1,29 @@
 package community.solace.spring.cloud.requestreply.service;
 
-import com.solacesystems.jcsmp.SDTException;
 import com.solacesystems.jcsmp.SDTStream;
+import community.solace.spring.cloud.requestreply.config.BinderMappings;
+import community.solace.spring.cloud.requestreply.config.CompletionMode;
+import community.solace.spring.cloud.requestreply.config.ConcurrencyLimitProperties;
+import community.solace.spring.cloud.requestreply.config.ConcurrencyLimitType;
+import community.solace.spring.cloud.requestreply.config.ReplyBufferProperties;
+import community.solace.spring.cloud.requestreply.config.ReplyOrderingProperties;
 import community.solace.spring.cloud.requestreply.config.RequestReplyProperties;
 import community.solace.spring.cloud.requestreply.exception.RequestReplyException;
+import community.solace.spring.cloud.requestreply.service.buffer.ReplyBuffer;
+import community.solace.spring.cloud.requestreply.service.buffer.ReplyBuffers;
+import community.solace.spring.cloud.requestreply.service.buffer.ReplyReorderBuffers;
+import community.solace.spring.cloud.requestreply.service.correlation.CorrelationIdGenerator;
+import community.solace.spring.cloud.requestreply.service.header.RequestReplyHeaders;
 import community.solace.spring.cloud.requestreply.service.header.RequestReplyMessageHeaderSupportService;
+import community.solace.spring.cloud.requestreply.service.limit.ConcurrencyLimiter;
 import community.solace.spring.cloud.requestreply.service.header.parser.SpringHeaderParser;
 import community.solace.spring.cloud.requestreply.service.header.parser.errormessage.RemoteErrorException;
 import community.solace.spring.cloud.requestreply.service.logging.RequestReplyLogger;
 import community.solace.spring.cloud.requestreply.service.messageinterceptor.RequestSendingInterceptor;
-import io.micrometer.context.ContextExecutorService;
-import io.micrometer.context.ContextSnapshotFactory;
+import community.solace.spring.cloud.requestreply.service.registry.PendingResponseRegistry;
+import community.solace.spring.cloud.requestreply.util.HashedWheelTimer;
+import community.solace.spring.cloud.requestreply.util.MessageChunker;
+import community.solace.spring.cloud.requestreply.util.RequestReplyExecutors;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import jakarta.validation.Valid;
@@ -18,13 +31,15 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cloud.stream.binder.BinderHeaders;
 import org.springframework.cloud.stream.config.BindingServiceProperties;
 import org.springframework.cloud.stream.function.StreamBridge;
-import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.support.MessageBuilder;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.converter.MessageConverter;
@@ -33,7 +48,6 @@ import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
@@ -47,16 +61,12 @@ import static community.solace.spring.cloud.requestreply.util.CheckedExceptionWr
  * The RequestReplyService takes care of asynchronous request and reply messages, relating one to the other and allowing to wrap both as a synchronous call.
  */
 @Service
-public class RequestReplyServiceImpl implements RequestReplyService {
+public class RequestReplyServiceImpl implements RequestReplyService, InitializingBean, DisposableBean {
     static final String MISSING_DESTINATION = "not-set";
     static final long EMPTY_RESPONSE = 0;
     static final long UNKNOWN_SIZE = -1;
 
     private static final Logger LOG = LoggerFactory.getLogger(RequestReplyServiceImpl.class);
-    private static final ThreadPoolExecutor DELEGATE_EXECUTOR = (ThreadPoolExecutor) Executors.newCachedThreadPool();
-    private static final ExecutorService REQUEST_REPLY_EXECUTOR_SERVICE = ContextExecutorService
-            .wrap(DELEGATE_EXECUTOR, ContextSnapshotFactory.builder().build());
-    private static final Map<String, ResponseHandler> PENDING_RESPONSES = new ConcurrentHashMap<>();
 
     @Autowired(required = false)
     private StreamBridge streamBridge;
@@ -83,7 +93,33 @@ public class RequestReplyServiceImpl implements RequestReplyService {
     @Autowired
     private RequestSendingInterceptor requestSendingInterceptor;
 
+    @Autowired
+    private PendingResponseRegistry pendingResponseRegistry;
+
+    @Autowired
+    private CorrelationIdGenerator correlationIdGenerator;
+
     private final Map<String, Timer> meterTime = new ConcurrentHashMap<>();
+    private final Map<String, PhaseTimers> phaseTimers = new ConcurrentHashMap<>();
+    private final Map<String, ResolvedBinding> resolvedBindings = new ConcurrentHashMap<>();
+
+    private ExecutorService requestReplyExecutorService;
+    private HashedWheelTimer timeoutScheduler;
+
+    @Override
+    public void afterPropertiesSet() {
+        requestReplyExecutorService = RequestReplyExecutors.create(requestReplyProperties.getExecutor());
+        timeoutScheduler = new HashedWheelTimer(
+                "requestReply-timeout",
+                requestReplyProperties.getTimeoutScheduler().getTickDuration(),
+                requestReplyProperties.getTimeoutScheduler().getTicksPerWheel());
+    }
+
+    @Override
+    public void destroy() {
+        timeoutScheduler.stop();
+        requestReplyExecutorService.shutdown();
+    }
 
     private Timer getMeterTime(String bindingName) {
         if (registry == null) {
@@ -118,6 +154,14 @@ public class RequestReplyServiceImpl implements RequestReplyService {
                         .register(registry));
     }
 
+    private PhaseTimers getPhaseTimers(String bindingName) {
+        if (registry == null) {
+            return null;
+        }
+
+        return phaseTimers.computeIfAbsent(bindingName, bn -> PhaseTimers.register(bn, registry));
+    }
+
     @Override
     public <Q, A> A requestAndAwaitReplyToTopic(
             Q request,
@@ -165,12 +209,13 @@ public class RequestReplyServiceImpl implements RequestReplyService {
             Map<String, Object> additionalHeaders
     ) {
         final AtomicReference<A> returnValue = new AtomicReference<>();
+        ResolvedBinding binding = resolveBinding(bindingName);
 
         return requestReply(
                 request,
-                bindingName,
-                bindingServiceProperties.getBindingDestination(bindingName + "-out-0"),
-                msg -> returnValue.set(extractMsgBody(expectedClass, msg)),
+                binding,
+                binding.destination(),
+                msg -> returnValue.set(extractMsgBody(expectedClass, msg, binding.phases())),
                 timeoutPeriod,
                 false,
                 additionalHeaders
@@ -191,11 +236,13 @@ public class RequestReplyServiceImpl implements RequestReplyService {
                 .findMatchingBinder(requestDestination)
                 .orElseThrow(() -> new IllegalArgumentException("Unable to find binding for destination: " + requestDestination + " Please check spring.cloud.stream.requestreply.bindingMapping in your configuration."));
 
+        ResolvedBinding binding = resolveBinding(bindingName);
+
         return requestReply(
                 request,
-                bindingName,
+                binding,
                 requestDestination,
-                msg -> returnValue.set(extractMsgBody(expectedClass, msg)),
+                msg -> returnValue.set(extractMsgBody(expectedClass, msg, binding.phases())),
                 timeoutPeriod,
                 false,
                 additionalHeaders
@@ -211,20 +258,23 @@ public class RequestReplyServiceImpl implements RequestReplyService {
             Map<String, Object> additionalHeaders
     ) {
         return Flux.create(fluxSink -> {
+            ResolvedBinding binding;
             try {
-                wrapTimeOutException(() -> requestReply(
-                        request,
-                        bindingName,
-                        bindingServiceProperties.getBindingDestination(bindingName + "-out-0"),
-                        fluxResponseConsumer(expectedClass, fluxSink),
-                        timeoutPeriod,
-                        true,
-                        additionalHeaders
-                ).get(timeoutPeriod.toMillis(), TimeUnit.MILLISECONDS));
-                fluxSink.complete();
+                binding = resolveBinding(bindingName);
             } catch (Exception e) {
                 fluxSink.error(e);
+                return;
             }
+
+            requestReplyReactive(
+                    request,
+                    binding,
+                    binding.destination(),
+                    expectedClass,
+                    timeoutPeriod,
+                    additionalHeaders,
+                    fluxSink
+            );
         });
     }
 
@@ -237,6 +287,7 @@ public class RequestReplyServiceImpl implements RequestReplyService {
             Map<String, Object> additionalHeaders
     ) {
         return Flux.create(fluxSink -> {
+            ResolvedBinding binding;
             try {
                 String bindingName = requestReplyProperties
                         .findMatchingBinder(requestDestination)
@@ -244,38 +295,126 @@ public class RequestReplyServiceImpl implements RequestReplyService {
                                 "Unable to find binding for destination: " +
                                         requestDestination +
                                         " Please check spring.cloud.stream.requestreply.bindingMapping in your configuration."));
-
-                wrapTimeOutException(() -> requestReply(
-                        request,
-                        bindingName,
-                        requestDestination,
-                        fluxResponseConsumer(expectedClass, fluxSink),
-                        timeoutPeriod,
-                        true,
-                        additionalHeaders
-                ).get(timeoutPeriod.toMillis(), TimeUnit.MILLISECONDS));
-                fluxSink.complete();
+                binding = resolveBinding(bindingName);
             } catch (Exception e) {
                 fluxSink.error(e);
+                return;
             }
+
+            requestReplyReactive(
+                    request,
+                    binding,
+                    requestDestination,
+                    expectedClass,
+                    timeoutPeriod,
+                    additionalHeaders,
+                    fluxSink
+            );
         });
     }
 
+    /**
+     * Replies are pushed into the sink by the reply consumer and the sink is completed along with the request,
+     * so the subscribing thread is never blocked. Cancelling the subscription aborts the request.
+     */
+    private <Q, A> void requestReplyReactive(
+            Q request,
+            ResolvedBinding binding,
+            String requestDestination,
+            Class<A> expectedClass,
+            Duration timeoutPeriod,
+            Map<String, Object> additionalHeaders,
+            FluxSink<A> fluxSink
+    ) {
+        ReplyBuffer<A> replyBuffer = binding.replyBuffers() == null
+                ? null
+                : binding.replyBuffers().create(msg -> extractMsgBody(expectedClass, msg, binding.phases()), fluxSink, requestReplyExecutorService);
+
+        CompletableFuture<Void> pendingRequest;
+        try {
+            OutgoingRequest outgoing = prepareRequest(request, binding, requestDestination, additionalHeaders);
+            pendingRequest = postRequest(
+                    outgoing,
+                    replyBuffer == null ? fluxResponseConsumer(expectedClass, fluxSink, binding.phases()) : replyBuffer,
+                    timeoutPeriod,
+                    true,
+                    CompletionMode.ASYNC
+            );
+        } catch (Exception e) {
+            fluxSink.error(e);
+            return;
+        }
+
+        if (replyBuffer == null) {
+            fluxSink.onCancel(() -> pendingRequest.cancel(false));
+            pendingRequest.whenComplete((none, error) -> {
+                if (error == null) {
+                    fluxSink.complete();
+                } else {
+                    fluxSink.error(toReactiveError(error));
+                }
+            });
+            return;
+        }
+
+        // Replies are emitted by the buffer as requested, which also terminates the stream after the last one.
+        fluxSink.onRequest(replyBuffer::request);
+        fluxSink.onCancel(() -> {
+            replyBuffer.cancel();
+            pendingRequest.cancel(false);
+        });
+        replyBuffer.aborted().thenRun(() -> pendingRequest.cancel(false));
+        pendingRequest.whenComplete((none, error) -> {
+            if (error == null) {
+                replyBuffer.complete();
+            } else {
+                replyBuffer.error(toReactiveError(error));
+            }
+        });
+    }
+
+    /**
+     * Maps the error of a request the same way {@link #wrapTimeOutException(TimeoutSupplier)} does for the blocking calls.
+     */
+    private static Throwable toReactiveError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RequestReplyException && cause.getCause() instanceof RemoteErrorException) {
+            return cause.getCause();
+        }
+
+        return new TimeoutException(String.format("Failed to collect response: %s: %s",
+                cause.getClass(),
+                cause.getMessage()));
+    }
+
     @NotNull
-    private <A> Consumer<Message<?>> fluxResponseConsumer(Class<A> expectedClass, FluxSink<A> fluxSink) {
+    private <A> Consumer<Message<?>> fluxResponseConsumer(Class<A> expectedClass, FluxSink<A> fluxSink, PhaseTimers phases) {
         return msg -> {
-            A payload = extractMsgBody(expectedClass, msg);
+            A payload = extractMsgBody(expectedClass, msg, phases);
             if (payload != null) {
                 fluxSink.next(payload);
             }
         };
     }
 
+    /**
+     * @param phases the timers of the binding, if any, measuring the conversion
+     */
     @SuppressWarnings("unchecked")
-    private <A> A extractMsgBody(Class<A> expectedClass, Message<?> msg) {
-        return expectedClass.isAssignableFrom(msg.getPayload().getClass()) ?
-                (A) msg.getPayload() :
-                (A) messageConverter.fromMessage(msg, expectedClass);
+    private <A> A extractMsgBody(Class<A> expectedClass, Message<?> msg, PhaseTimers phases) {
+        if (expectedClass.isAssignableFrom(msg.getPayload().getClass())) {
+            return (A) msg.getPayload();
+        }
+        if (phases == null) {
+            return (A) messageConverter.fromMessage(msg, expectedClass);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return (A) messageConverter.fromMessage(msg, expectedClass);
+        } finally {
+            phases.conversion().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
@@ -283,7 +422,7 @@ public class RequestReplyServiceImpl implements RequestReplyService {
      *
      * @param <Q>                question/request type
      * @param request            the request to be sent
-     * @param bindingName        the message channel name to send the request to. Example: requestReplyRepliesDemoTibrv
+     * @param binding            the binding to send the request with, resolved once per request
      * @param requestDestination the message channel name to send the request to
      * @param responseConsumer   the consumer to handle incoming replies
      * @param multipleResponses  indicator if more than one response can be accepted
@@ -291,37 +430,95 @@ public class RequestReplyServiceImpl implements RequestReplyService {
      */
     private <Q> CompletableFuture<Void> requestReply(
             @NotNull Q request,
-            @NotEmpty String bindingName,
+            @NotNull ResolvedBinding binding,
             @NotEmpty String requestDestination,
             @NotNull Consumer<Message<?>> responseConsumer,
             @NotNull @Valid Duration timeoutPeriod,
             boolean multipleResponses,
             Map<String, Object> additionalHeaders
     ) {
+        OutgoingRequest outgoing = prepareRequest(request, binding, requestDestination, additionalHeaders);
+
+        return postRequest(outgoing, responseConsumer, timeoutPeriod, multipleResponses, requestReplyProperties.getCompletionMode());
+    }
+
+    /**
+     * @return the output binding, destination, reply topic, concurrency limiter and buffers of the binding, resolved
+     * once per binding mapping and destination of its output binding
+     */
+    private ResolvedBinding resolveBinding(String bindingName) {
+        BinderMappings mapping = requestReplyProperties.getBindingMapping(bindingName)
+                .orElseThrow(() -> new IllegalArgumentException("Unable to send request reply: Missing binding mapping for: " + bindingName + ". "
+                        + "Please check that there is a matching: spring.cloud.stream.requestreply.bindingMapping[].binding"));
+        // Looked up every time, the destination of the output binding can be bound again independently of the mapping.
+        String destination = bindingServiceProperties.getBindingDestination(mapping.getOutputBindingName());
+
+        ResolvedBinding resolved = resolvedBindings.get(bindingName);
+        if (resolved == null || resolved.mapping() != mapping || !Objects.equals(resolved.destination(), destination)) {
+            resolved = resolvedBindings.compute(bindingName, (name, previous) -> resolveBinding(name, mapping, destination, previous));
+        }
+
+        String replyTopic = resolved.replyTopic();
+        if (!StringUtils.hasText(replyTopic) || Objects.equals(replyTopic, MISSING_DESTINATION)) {
+            throw new IllegalArgumentException("Missing configuration option: spring.cloud.stream.requestreply[].replyTopic where binding: " + bindingName);
+        }
+        return resolved;
+    }
+
+    private ResolvedBinding resolveBinding(String bindingName, BinderMappings mapping, String destination, ResolvedBinding previous) {
+        if (previous != null && previous.mapping() == mapping) {
+            return Objects.equals(previous.destination(), destination) ? previous : previous.withDestination(destination);
+        }
+
+        // The mappings are replaced as a whole when they are bound again, which invalidates what was resolved.
+        // Requests in flight keep the limiter and buffers they started with.
+        if (previous != null) {
+            previous.removeGauges();
+        }
+        ConcurrencyLimitProperties limit = mapping.getConcurrencyLimit();
+        ReplyBufferProperties replyBuffer = mapping.getReplyBuffer();
+        ReplyOrderingProperties replyOrdering = mapping.getReplyOrdering();
+        return new ResolvedBinding(
+                mapping,
+                bindingName,
+                mapping.getOutputBindingName(),
+                destination,
+                mapping.getReplyTopic(),
+                getMeterTime(mapping.getOutputBindingName()),
+                getPhaseTimers(mapping.getOutputBindingName()),
+                limit.getType() == ConcurrencyLimitType.NONE
+                        ? ConcurrencyLimiter.UNLIMITED
+                        : new ConcurrencyLimiter(bindingName, limit, registry),
+                replyBuffer.getCapacity() > 0
+                        ? new ReplyBuffers(bindingName, replyBuffer, registry)
+                        : null,
+                replyOrdering.isEnabled()
+                        ? new ReplyReorderBuffers(bindingName, replyOrdering, timeoutScheduler, requestReplyExecutorService, registry)
+                        : null);
+    }
+
+    private <Q> OutgoingRequest prepareRequest(
+            Q request,
+            ResolvedBinding binding,
+            String requestDestination,
+            Map<String, Object> additionalHeaders
+    ) {
+        long start = System.nanoTime();
         String correlationId = null;
         if (request instanceof Message) {
             correlationId = messageHeaderSupportService.getCorrelationId((Message<?>) request);
         }
         if (!StringUtils.hasText(correlationId)) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = correlationIdGenerator.nextId();
             requestReplyLogger.log(LOG, Level.DEBUG, "generated correlation Id {} for request directed to {} with content {}", correlationId, requestDestination, request);
         }
 
         final String requestDestinationRaw = requestReplyProperties.replaceVariablesWithWildcard(requestDestination);
 
-        String replyTopic = requestReplyProperties.getBindingMapping(bindingName)
-                .orElseThrow(() -> new IllegalArgumentException("Unable to send request reply: Missing binding mapping for: " + bindingName + ". "
-                        + "Please check that there is a matching: spring.cloud.stream.requestreply.bindingMapping[].binding"))
-                .getReplyTopic();
-
         requestReplyLogger.log(LOG, Level.DEBUG, "Using binding:{} , destination:{} and replyTopic:{}",
-                bindingName,
+                binding.bindingName(),
                 requestDestinationRaw,
-                replyTopic);
-
-        if (!StringUtils.hasText(replyTopic) || Objects.equals(replyTopic, MISSING_DESTINATION)) {
-            throw new IllegalArgumentException("Missing configuration option: spring.cloud.stream.requestreply[].replyTopic where binding: " + bindingName);
-        }
+                binding.replyTopic());
 
         // Accepted that a client not using this lib but solace,
         // may be confused about not finding it in the correct solace header locations.
@@ -337,7 +534,7 @@ public class RequestReplyServiceImpl implements RequestReplyService {
         messageBuilder
                 .setCorrelationId(correlationId)
                 .setHeader(BinderHeaders.TARGET_DESTINATION, requestDestinationRaw)
-                .setHeader(MessageHeaders.REPLY_CHANNEL, replyTopic);
+                .setHeader(MessageHeaders.REPLY_CHANNEL, binding.replyTopic());
 
         if (additionalHeaders != null) {
             for (var header : additionalHeaders.entrySet()) {
@@ -345,56 +542,167 @@ public class RequestReplyServiceImpl implements RequestReplyService {
             }
         }
 
-        Message<?> toSend = requestSendingInterceptor.interceptRequestSendingMessage(messageBuilder.build(), bindingName);
+        if (Boolean.TRUE.equals(messageBuilder.getHeaders().get(SpringHeaderParser.GROUPED_MESSAGES))) {
+            // Repliers configured to do so deflate their grouped replies only for requesters announcing to inflate them.
+            messageBuilder.setHeaderIfAbsent(SpringHeaderParser.GROUPED_ACCEPT_COMPRESSION, MessageChunker.DEFLATE);
+        }
+
+        Message<?> toSend = requestSendingInterceptor.interceptRequestSendingMessage(messageBuilder.build(), binding.bindingName());
 
-        return postRequest(bindingName + "-out-0", correlationId, toSend, responseConsumer, timeoutPeriod, multipleResponses);
+        if (binding.phases() != null) {
+            binding.phases().build().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return new OutgoingRequest(binding, correlationId, toSend);
     }
 
     private CompletableFuture<Void> postRequest(
-            String bindingName,
-            String correlationId,
-            Message<?> message,
+            @NotNull OutgoingRequest outgoing,
             @NotNull Consumer<Message<?>> responseConsumer,
             @NotNull @Valid Duration timeoutPeriod,
-            boolean multipleResponses
+            boolean multipleResponses,
+            @NotNull CompletionMode completionMode
     ) {
-        Runnable requestRunnable = () -> {
-            requestReplyLogger.logRequest(LOG, Level.TRACE, "Sending message {}", message);
-            streamBridge.send(bindingName, message);
-        };
+        // The timing wheel owns the expiry. It is scheduled first, so that a stopped wheel fails the request before
+        // anything was registered or sent, and it is cancelled as soon as the request completes in time.
+        CompletableFuture<Void> expiry = new CompletableFuture<>();
+        HashedWheelTimer.Timeout timeout = timeoutScheduler.newTimeout(
+                () -> expiry.completeExceptionally(new TimeoutException()),
+                timeoutPeriod);
+
+        PendingRequest pending;
+        CompletableFuture<Void> request;
+        try {
+            pending = registerPendingRequest(outgoing.binding(), outgoing.correlationId(), responseConsumer, multipleResponses);
+
+            // A queued request is sent by the request that releases its permit, without holding a thread meanwhile.
+            request = pending.permit().future().isDone()
+                    ? send(pending, outgoing, completionMode)
+                    : pending.permit().future().thenCompose(none -> send(pending, outgoing, completionMode));
+        } catch (RuntimeException e) {
+            timeout.cancel();
+            throw e;
+        }
 
-        return postRequest(bindingName, correlationId, requestRunnable, responseConsumer, timeoutPeriod, multipleResponses);
+        expiry.exceptionally(error -> {
+            request.completeExceptionally(error);
+            return null;
+        });
+        request.whenComplete((reply, error) -> timeout.cancel());
+
+        return track(pending, request);
     }
 
-    private CompletableFuture<Void> postRequest(
+    @Override
+    public <Q, A> List<CompletableFuture<A>> requestReplyToBindingBatch(
+            Collection<Q> requests,
             @NotEmpty String bindingName,
-            @NotEmpty String correlationId,
-            @NotNull Runnable requestRunnable,
-            @NotNull Consumer<Message<?>> responseConsumer,
+            Class<A> expectedClass,
             @NotNull @Valid Duration timeoutPeriod,
-            boolean multipleResponses
+            Map<String, Object> additionalHeaders
     ) {
-        ResponseHandler responseHandler = new ResponseHandler(responseConsumer, multipleResponses, getMeterTime(bindingName), requestReplyLogger);
-        ResponseHandler previous = PENDING_RESPONSES.putIfAbsent(correlationId, responseHandler);
-        if (previous != null) {
-            throw new IllegalArgumentException("response for correlation ID " + correlationId + " is already awaited");
+        ResolvedBinding binding = resolveBinding(bindingName);
+
+        // One timeout for the whole batch, scheduled before any request is registered or sent.
+        CompletableFuture<Void> expiry = new CompletableFuture<>();
+        HashedWheelTimer.Timeout timeout = timeoutScheduler.newTimeout(
+                () -> expiry.completeExceptionally(new TimeoutException()),
+                timeoutPeriod);
+
+        List<CompletableFuture<A>> results = new ArrayList<>(requests.size());
+        List<CompletableFuture<Void>> pendingRequests = new ArrayList<>(requests.size());
+        List<Runnable> permittedRequests = new ArrayList<>(requests.size());
+        List<CompletableFuture<Void>> permittedSent = new ArrayList<>(requests.size());
+
+        for (Q request : requests) {
+            final AtomicReference<A> returnValue = new AtomicReference<>();
+            try {
+                OutgoingRequest outgoing = prepareRequest(request, binding, binding.destination(), additionalHeaders);
+                PendingRequest pending = registerPendingRequest(
+                        binding,
+                        outgoing.correlationId(),
+                        msg -> returnValue.set(extractMsgBody(expectedClass, msg, binding.phases())),
+                        false);
+
+                CompletableFuture<Void> sent;
+                if (pending.permit().future().isDone()) {
+                    sent = new CompletableFuture<>();
+                    permittedRequests.add(() -> outgoing.send(pending.responseHandler()));
+                    permittedSent.add(sent);
+                } else {
+                    sent = pending.permit().future().thenCompose(none -> CompletableFuture.runAsync(() -> outgoing.send(pending.responseHandler()), requestReplyExecutorService));
+                }
+
+                // Batches always complete asynchronously, no thread is parked per request.
+                CompletableFuture<Void> pendingRequest = sent.thenCompose(none -> pending.responseHandler().completion());
+                expiry.exceptionally(error -> {
+                    pendingRequest.completeExceptionally(error);
+                    return null;
+                });
+                pendingRequests.add(pendingRequest);
+                results.add(track(pending, pendingRequest).thenApply(none -> returnValue.get()));
+            } catch (RuntimeException e) {
+                results.add(CompletableFuture.failedFuture(e));
+            }
         }
 
-        Runnable runnable = throwingUnchecked(() -> {
+        CompletableFuture.allOf(pendingRequests.toArray(CompletableFuture[]::new))
+                .whenComplete((none, error) -> timeout.cancel());
+
+        // Send all requests that got a permit right away in a single task.
+        if (!permittedRequests.isEmpty()) {
             try {
-                requestReplyLogger.log(LOG, Level.TRACE, "Querying correlationId {}", correlationId);
-                requestRunnable.run();
-                responseHandler.await();
-            } finally {
-                requestReplyLogger.log(LOG, Level.TRACE, "Disregarding correlationId {}", correlationId);
-                PENDING_RESPONSES.remove(correlationId);
+                requestReplyExecutorService.execute(() -> {
+                    for (int i = 0; i < permittedRequests.size(); i++) {
+                        try {
+                            permittedRequests.get(i).run();
+                            permittedSent.get(i).complete(null);
+                        } catch (RuntimeException e) {
+                            permittedSent.get(i).completeExceptionally(e);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permittedSent.forEach(sent -> sent.completeExceptionally(e));
             }
-        });
+        }
+
+        return results;
+    }
 
-        return CompletableFuture.runAsync(runnable, REQUEST_REPLY_EXECUTOR_SERVICE)
-                                .orTimeout(timeoutPeriod.toMillis(), TimeUnit.MILLISECONDS)
-                                .exceptionally(ex -> {
-                                    responseHandler.abort();
+    private PendingRequest registerPendingRequest(
+            ResolvedBinding binding,
+            String correlationId,
+            Consumer<Message<?>> responseConsumer,
+            boolean multipleResponses
+    ) {
+        String bindingName = binding.bindingName();
+        ConcurrencyLimiter.Permit permit = binding.concurrencyLimiter().acquire();
+
+        ResponseHandler responseHandler = new ResponseHandler(responseConsumer, multipleResponses, binding.rtt(), requestReplyLogger,
+                multipleResponses ? binding.reorderBuffers() : null, binding.phases());
+        boolean registered = false;
+        try {
+            registered = pendingResponseRegistry.register(bindingName, correlationId, responseHandler);
+        } finally {
+            if (!registered) {
+                permit.release(false);
+            }
+        }
+        if (!registered) {
+            throw new IllegalArgumentException("response for correlation ID " + correlationId + " is already awaited");
+        }
+
+        return new PendingRequest(bindingName, correlationId, responseHandler, permit);
+    }
+
+    /**
+     * Releases everything held by the pending request once the given future completed, however it completed.
+     */
+    private CompletableFuture<Void> track(PendingRequest pending, CompletableFuture<Void> request) {
+        CompletableFuture<Void> tracked = request
+                .whenComplete((reply, error) -> pending.permit().release(isTimeout(error)))
+                .exceptionally(ex -> {
+                    pending.responseHandler().abort();
 
                     if (ex instanceof RuntimeException rex) {
                         throw rex;
@@ -402,16 +710,160 @@ public class RequestReplyServiceImpl implements RequestReplyService {
                         throw new RuntimeException(ex);
                     }
                 })
-                .whenCompleteAsync((reply, error) -> {
+                .whenComplete((reply, error) -> {
+                    // Cleanup is bound to the future rather than to the task: a timeout can complete the future
+                    // before the executor ever started the task, in which case the task is skipped entirely.
+                    requestReplyLogger.log(LOG, Level.TRACE, "Disregarding correlationId {}", pending.correlationId());
+                    pendingResponseRegistry.remove(pending.bindingName(), pending.correlationId(), pending.responseHandler());
+                })
+                .whenComplete((reply, error) -> {
                     if (error != null) {
-                        requestReplyLogger.log(LOG,
+                        // Only the logging is handed to the executor, the returned future must not depend on it accepting a task.
+                        Runnable logFailure = () -> requestReplyLogger.log(LOG,
                                 Level.ERROR,
                                 "Failed to collect response for correlationId {}: {}: {}",
-                                correlationId,
+                                pending.correlationId(),
                                 error.getClass(),
                                 error.getMessage());
+                        try {
+                            requestReplyExecutorService.execute(logFailure);
+                        } catch (RejectedExecutionException e) {
+                            logFailure.run();
+                        }
                     }
-                }, REQUEST_REPLY_EXECUTOR_SERVICE);
+                });
+
+        // Cancelling the returned future, e.g. by cancelling a reactive subscription, aborts the request.
+        tracked.whenComplete((reply, error) -> {
+            if (error instanceof CancellationException) {
+                requestReplyLogger.log(LOG, Level.DEBUG, "Cancelled correlationId {}", pending.correlationId());
+                request.cancel(false);
+            }
+        });
+        return tracked;
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        return (error instanceof CompletionException ? error.getCause() : error) instanceof TimeoutException;
+    }
+
+    private CompletableFuture<Void> send(PendingRequest pending, OutgoingRequest outgoing, CompletionMode completionMode) {
+        try {
+            return completionMode == CompletionMode.ASYNC
+                    ? sendAndComplete(outgoing, pending.responseHandler())
+                    : sendAndAwait(outgoing, pending.responseHandler());
+        } catch (RejectedExecutionException e) {
+            // A bounded executor is saturated: the request was never sent, so nobody will ever await it.
+            pendingResponseRegistry.remove(pending.bindingName(), pending.correlationId(), pending.responseHandler());
+            pending.permit().release(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the request and parks the executor thread until the response handler is finished.
+     */
+    private CompletableFuture<Void> sendAndAwait(OutgoingRequest outgoing, ResponseHandler responseHandler) {
+        Runnable runnable = throwingUnchecked(() -> {
+            outgoing.send(responseHandler);
+            responseHandler.await();
+        });
+
+        return CompletableFuture.runAsync(runnable, requestReplyExecutorService);
+    }
+
+    /**
+     * Sends the request and releases the executor thread right away.
+     * The returned future is completed by the thread that delivers the last reply (see {@link #onReplyReceived(String, Message)}).
+     */
+    private CompletableFuture<Void> sendAndComplete(OutgoingRequest outgoing, ResponseHandler responseHandler) {
+        return CompletableFuture.runAsync(() -> outgoing.send(responseHandler), requestReplyExecutorService)
+                                .thenCompose(none -> responseHandler.completion());
+    }
+
+    /**
+     * A request message, ready to be sent.
+     */
+    private final class OutgoingRequest {
+        private final ResolvedBinding binding;
+        private final String correlationId;
+        private final Message<?> message;
+
+        private OutgoingRequest(ResolvedBinding binding, String correlationId, Message<?> message) {
+            this.binding = binding;
+            this.correlationId = correlationId;
+            this.message = message;
+        }
+
+        ResolvedBinding binding() {
+            return binding;
+        }
+
+        String correlationId() {
+            return correlationId;
+        }
+
+        /**
+         * @param responseHandler the handler awaiting the replies, measuring them from now on
+         */
+        void send(ResponseHandler responseHandler) {
+            requestReplyLogger.log(LOG, Level.TRACE, "Querying correlationId {}", correlationId);
+            requestReplyLogger.logRequest(LOG, Level.TRACE, "Sending message {}", message);
+            responseHandler.sending();
+            if (binding.phases() == null) {
+                streamBridge.send(binding.outputBindingName(), message);
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                streamBridge.send(binding.outputBindingName(), message);
+            } finally {
+                binding.phases().send().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * A binding mapping along with everything a request needs of it, resolved once rather than on every request.
+     */
+    private record ResolvedBinding(
+            BinderMappings mapping,
+            String bindingName,
+            String outputBindingName,
+            String destination,
+            String replyTopic,
+            Timer rtt,
+            PhaseTimers phases,
+            ConcurrencyLimiter concurrencyLimiter,
+            @Nullable ReplyBuffers replyBuffers,
+            @Nullable ReplyReorderBuffers reorderBuffers
+    ) {
+        ResolvedBinding withDestination(String destination) {
+            return new ResolvedBinding(mapping, bindingName, outputBindingName, destination, replyTopic, rtt, phases,
+                    concurrencyLimiter, replyBuffers, reorderBuffers);
+        }
+
+        void removeGauges() {
+            concurrencyLimiter.removeGauges();
+            if (replyBuffers != null) {
+                replyBuffers.removeGauges();
+            }
+            if (reorderBuffers != null) {
+                reorderBuffers.removeGauges();
+            }
+        }
+    }
+
+    /**
+     * A request that is registered and awaits its reply.
+     */
+    private record PendingRequest(
+            String bindingName,
+            String correlationId,
+            ResponseHandler responseHandler,
+            ConcurrencyLimiter.Permit permit
+    ) {
     }
 
     private <T> T wrapTimeOutException(TimeoutSupplier<T> businessLogic) throws TimeoutException, RemoteErrorException {
@@ -434,23 +886,32 @@ public class RequestReplyServiceImpl implements RequestReplyService {
         T get() throws InterruptedException, TimeoutException, ExecutionException;
     }
 
-    @SuppressWarnings("unchecked")
     void onReplyReceived(final Message<?> message) {
-        String correlationId = messageHeaderSupportService.getCorrelationId(message);
+        onReplyReceived(null, message);
+    }
+
+    /**
+     * @param bindingName the binding the reply was received on, used to look up the pending request in its partition
+     * @param message     the reply
+     */
+    @SuppressWarnings("unchecked")
+    void onReplyReceived(final String bindingName, final Message<?> message) {
+        RequestReplyHeaders headers = messageHeaderSupportService.resolveHeaders(message);
+        String correlationId = headers.getCorrelationId();
 
         if (correlationId == null) {
             requestReplyLogger.log(LOG, Level.ERROR, "Received unexpected message, without correlation id: {}", message);
             return;
         }
 
-        Long totalReplies = messageHeaderSupportService.getTotalReplies(message);
-        String errorMessage = messageHeaderSupportService.getErrorMessage(message);
-
-        ResponseHandler handler = PENDING_RESPONSES.get(correlationId);
+        // Look up the pending request first, late or foreign replies need no further header parsing.
+        ResponseHandler handler = pendingResponseRegistry.get(bindingName, correlationId);
         if (handler == null) {
             requestReplyLogger.log(LOG, Level.INFO, "Received unexpected message or maybe too late response: {}", message);
         } else {
-            String replyIndex = messageHeaderSupportService.getReplyIndex(message);
+            Long totalReplies = headers.getTotalReplies();
+            String errorMessage = headers.getErrorMessage();
+            String replyIndex = headers.getReplyIndex();
             // Allow terminal messages (EMPTY_RESPONSE) to share replyIndex with a previous message,
             // because they don't carry a unique index but are required to complete/error the request.
             if (StringUtils.hasText(replyIndex) && (totalReplies == null || totalReplies != EMPTY_RESPONSE) && handler.checkDuplicate(replyIndex)) {
@@ -479,61 +940,18 @@ public class RequestReplyServiceImpl implements RequestReplyService {
 
             if (StringUtils.hasText(errorMessage)) {
                 handler.errorResponse(errorMessage);
-            } else if (isMultiResponse(message)) {
-                for (Message<?> msg : parseMultiResponse((Message<SDTStream>) message)) {
-                    handler.receive(msg);
-                }
+            } else if (GroupedReplyDecoder.isGrouped(message)) {
+                GroupedReplyDecoder.decode((Message<SDTStream>) message, handler.receiver(replyIndex));
             } else {
-                handler.receive(message);
-            }
-        }
-    }
-
-    private static boolean isMultiResponse(Message<?> message) {
-        return message.getPayload() instanceof SDTStream &&
-                Boolean.TRUE.equals(message.getHeaders().get(SpringHeaderParser.GROUPED_MESSAGES));
-    }
-
-    private static List<Message<?>> parseMultiResponse(Message<SDTStream> message) {
-        try {
-            List<Message<?>> msgs = new ArrayList<>();
-
-            // When creating grouped (SDTStream) responses, we temporarily move the content-type to
-            // SpringHeaderParser.GROUPED_CONTENT_TYPE to prevent Spring from re-encoding the outer message.
-            // When unpacking, restore it so downstream conversion (e.g. JSON -> POJO) works as expected.
-            Map<String, Object> baseHeaders = new IntegrationMessageHeaderAccessor(message).toMap();
-            Object groupedContentType = baseHeaders.get(SpringHeaderParser.GROUPED_CONTENT_TYPE);
-            if (groupedContentType != null && baseHeaders.get(MessageHeaders.CONTENT_TYPE) == null) {
-                baseHeaders.put(MessageHeaders.CONTENT_TYPE, groupedContentType);
+                handler.receiver(replyIndex).accept(message);
             }
-
-            while (message.getPayload().hasRemaining()) {
-                switch (message.getPayload().readString()) {
-                    case "BytesMessage" -> msgs.add(
-                            MessageBuilder
-                                    .withPayload(message.getPayload().readBytes())
-                                    .copyHeaders(baseHeaders)
-                                    .build()
-                    );
-                    case "TextMessage", "XMLContentMessage" -> msgs.add(
-                            MessageBuilder
-                                    .withPayload(new String(message.getPayload().readBytes(), StandardCharsets.UTF_8))
-                                    .copyHeaders(baseHeaders)
-                                    .build()
-                    );
-                    case "StreamMessage", "MapMessage" -> throw new IllegalArgumentException(
-                            "Message type: StreamMessage and MapMessage are not supported for " +
-                                    SpringHeaderParser.GROUPED_MESSAGES
-                    );
-                }
-            }
-            return msgs;
-        } catch (SDTException e) {
-            throw new IllegalArgumentException(e);
         }
     }
 
+    /**
+     * @return the number of requests that are currently awaiting their reply
+     */
     public int runningRequests() {
-        return DELEGATE_EXECUTOR.getActiveCount();
+        return pendingResponseRegistry.size();
     }
 }
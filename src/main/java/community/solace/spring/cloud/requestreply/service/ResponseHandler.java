@@ -1,5 +1,8 @@
 package community.solace.spring.cloud.requestreply.service;
 
+import community.solace.spring.cloud.requestreply.exception.RequestReplyException;
+import community.solace.spring.cloud.requestreply.service.buffer.ReplyReorderBuffer;
+import community.solace.spring.cloud.requestreply.service.buffer.ReplyReorderBuffers;
 import community.solace.spring.cloud.requestreply.service.header.parser.errormessage.RemoteErrorException;
 import community.solace.spring.cloud.requestreply.service.logging.RequestReplyLogger;
 import io.micrometer.core.instrument.Timer;
@@ -9,24 +12,33 @@ import org.slf4j.event.Level;
 import org.springframework.messaging.Message;
 import org.springframework.util.StringUtils;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 public class ResponseHandler {
     private static final Logger LOG = LoggerFactory.getLogger(ResponseHandler.class);
 
     private final CountDownLatch countDownLatch;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
     private final AtomicLong expectedReplies = new AtomicLong(1);
     private final AtomicLong receivedReplies = new AtomicLong(0);
     private final boolean supportMultipleResponses;
-    private final Instant requestTime;
+    private static final long NOT_YET = Long.MIN_VALUE;
+
+    private final long requestNanos;
     private final Timer timer;
+    private final PhaseTimers phaseTimers;
+    private volatile long sendNanos = NOT_YET;
+    private final AtomicLong lastReplyNanos = new AtomicLong(NOT_YET);
 
     private final Consumer<Message<?>> responseMessageConsumer;
+    private final Consumer<Message<?>> receiver = this::receive;
+    // Hands replies on in order of their replyIndex, or null to hand them on as received.
+    private final ReplyReorderBuffer reorderBuffer;
 
     private boolean isFirstMessage = true;
     private String errorMessage;
@@ -34,36 +46,69 @@ public class ResponseHandler {
     private final RequestReplyLogger requestReplyLogger;
 
     /**
-     * Fast-path dedup store for replyIndex values when totalReplies is known.
-     *
-     * <p>We store numeric indices (e.g. "12") and numeric ranges (e.g. "0-15") inside a BitSet.
-     * This is designed for very large reply counts without excessive allocation pressure.</p>
+     * Dedup store for replyIndex values.
      *
-     * <p>Protected by synchronizing on {@code numericReplyIndexBitSetLock} because BitSet is not thread-safe.</p>
+     * <p>We store numeric indices (e.g. "12") and the indices of numeric ranges (e.g. "0-15") inside a lock-free bitmap,
+     * so consumer threads receiving replies of the same request concurrently do not wait for each other.
+     * It is allocated with the first replyIndex and its pages as indices are set.</p>
      */
-    private volatile BitSet numericReplyIndexBitSet;
-    private volatile int numericReplyIndexBitSetSize = -1;
-    private final Object numericReplyIndexBitSetLock = new Object();
+    private final AtomicReference<ReplyIndexBitmap> numericReplyIndexes = new AtomicReference<>();
+    private volatile int numericReplyIndexLimit = -1;
 
     // Grow limit for unknown-size / streaming cases to avoid unbounded memory use on malformed indices.
-    // For known totalReplies, numericReplyIndexBitSetSize will cap growth.
+    // For known totalReplies, numericReplyIndexLimit will cap growth.
     private final int maxDedupBitsWhenUnknown = Integer.getInteger(
             "spring.cloud.stream.requestreply.dedup.maxBitsWhenUnknown",
             100_000
     );
 
+    /**
+     * Dedup store for replyIndex values from maxDedupBitsWhenUnknown on, when totalReplies is unknown.
+     *
+     * <p>Streams of unknown size may be arbitrarily long, so beyond the cap only a window of the indices following
+     * the lowest one not received yet is kept, see {@link ReplyIndexWindow}. A window of 0 disables dedup beyond
+     * the cap.</p>
+     */
+    private final int dedupWindowBitsWhenUnknown = Integer.getInteger(
+            "spring.cloud.stream.requestreply.dedup.windowBitsWhenUnknown",
+            65_536
+    );
+    private final AtomicReference<ReplyIndexWindow> streamingReplyIndexes = new AtomicReference<>();
+
     public ResponseHandler(Consumer<Message<?>> responseMessageConsumer, boolean supportMultipleResponses, Timer timer, RequestReplyLogger requestReplyLogger) {
+        this(responseMessageConsumer, supportMultipleResponses, timer, requestReplyLogger, null, null);
+    }
+
+    /**
+     * @param reorderBuffers the reorder buffers of the binding if {@code replyOrdering} is enabled, otherwise null
+     * @param phaseTimers    the timers of the reply phases of the binding, or null if there is no meter registry
+     */
+    public ResponseHandler(Consumer<Message<?>> responseMessageConsumer, boolean supportMultipleResponses, Timer timer, RequestReplyLogger requestReplyLogger,
+                           ReplyReorderBuffers reorderBuffers, PhaseTimers phaseTimers) {
         this.countDownLatch = new CountDownLatch(1);
         this.responseMessageConsumer = responseMessageConsumer;
         this.supportMultipleResponses = supportMultipleResponses;
 
-        this.requestTime = Instant.now();
+        this.requestNanos = System.nanoTime();
         this.timer = timer;
+        this.phaseTimers = phaseTimers;
         this.requestReplyLogger = requestReplyLogger;
+        // Replies are counted as they are handed on, so the request completes after its last reply in order.
+        this.reorderBuffer = reorderBuffers == null ? null : reorderBuffers.create(receiver);
+    }
+
+    /**
+     * Called right before the request is sent, the reply phases are measured from then on.
+     */
+    public void sending() {
+        sendNanos = System.nanoTime();
     }
 
     public void receive(Message<?> message) {
         long remainingReplies = expectedReplies.get() - receivedReplies.incrementAndGet();
+        if (phaseTimers != null) {
+            recordReplyPhases(remainingReplies <= 0 && !completion.isDone());
+        }
         if (remainingReplies >= 0) { // In case of unknown replies, the last message has no valid content.
             responseMessageConsumer.accept(message);
         }
@@ -75,46 +120,163 @@ public class ResponseHandler {
     }
 
 
+    private void recordReplyPhases(boolean last) {
+        long now = System.nanoTime();
+        long previous = lastReplyNanos.getAndSet(now);
+        if (previous != NOT_YET) {
+            phaseTimers.interReply().record(now - previous, TimeUnit.NANOSECONDS);
+        }
+
+        long sent = sendNanos;
+        if (sent != NOT_YET) {
+            if (previous == NOT_YET) {
+                phaseTimers.firstReply().record(now - sent, TimeUnit.NANOSECONDS);
+            }
+            if (last) {
+                phaseTimers.lastReply().record(now - sent, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * @param replyIndex the replyIndex of a reply, a single index or, for grouped replies, a range "start-end"
+     * @return whether the reply was received before. A single index is recorded as received, the indices of a range
+     * only as its elements are received by the {@link #receiver(String)} of the range.
+     */
     public boolean checkDuplicate(String replyIndex) {
         if (replyIndex == null) {
             return false;
         }
 
-        // Support both "n" and "start-end" (range dedup is by start only).
-        Integer start = tryParseNonNegativeReplyIndexStart(replyIndex);
-        if (start == null) {
+        // Support both "n" and "start-end".
+        long range = tryParseNonNegativeReplyIndexRange(replyIndex);
+        if (range < 0) {
             // Keep runtime fast: ignore non-numeric indices rather than allocating fallback structures.
             requestReplyLogger.log(LOG, Level.DEBUG, "replyIndex '{}' is not numeric; skipping dedup", replyIndex);
             return false;
         }
 
-        synchronized (numericReplyIndexBitSetLock) {
-            // Lazily allocate & grow BitSet.
-            if (numericReplyIndexBitSet == null) {
-                numericReplyIndexBitSet = new BitSet(Math.min(1024, Math.max(start + 1, 0)));
+        int start = rangeStart(range);
+        if (replyIndex.indexOf('-') < 0) {
+            if (testAndSetReceived(start)) {
+                requestReplyLogger.log(LOG, Level.WARN, "received duplicate response(index={})", replyIndex);
+                return true;
             }
+            return false;
+        }
 
-            // If totalReplies is known, clamp to [0, total-1].
-            if (numericReplyIndexBitSetSize > 0) {
-                if (start >= numericReplyIndexBitSetSize) {
-                    return false;
-                }
+        // A range is a duplicate only if every index it covers was received, possibly split differently.
+        for (long index = start; index <= rangeEnd(range); index++) {
+            if (!isReceived((int) index)) {
+                return false;
+            }
+        }
+        requestReplyLogger.log(LOG, Level.WARN, "received duplicate response(index={})", replyIndex);
+        return true;
+    }
+
+    /**
+     * @param replyIndex the replyIndex of a reply
+     * @return receives the reply, or the elements of a grouped reply in order. For a range "start-end", elements
+     * whose index was received before, by an overlapping range, are dropped and not counted as replies.
+     * If replies are ordered, they are handed on in order of their index.
+     */
+    public Consumer<Message<?>> receiver(String replyIndex) {
+        if (replyIndex == null) {
+            return receiver;
+        }
+        boolean range = replyIndex.indexOf('-') >= 0;
+        if (!range && reorderBuffer == null) {
+            return receiver;
+        }
+
+        long parsed = tryParseNonNegativeReplyIndexRange(replyIndex);
+        return parsed < 0 ? receiver : new IndexReceiver(rangeStart(parsed), rangeEnd(parsed), range);
+    }
+
+    /**
+     * Assigns the indices of a range to the elements of a grouped reply, in order, or the index to a single reply.
+     */
+    private final class IndexReceiver implements Consumer<Message<?>> {
+        private final int end;
+        // A single index was deduplicated by checkDuplicate already.
+        private final boolean deduplicate;
+        private long next;
+
+        private IndexReceiver(int start, int end, boolean deduplicate) {
+            this.next = start;
+            this.end = end;
+            this.deduplicate = deduplicate;
+        }
+
+        @Override
+        public void accept(Message<?> message) {
+            long index = next++;
+            if (index > end) {
+                receive(message);
+                return;
+            }
+            if (deduplicate && testAndSetReceived((int) index)) {
+                requestReplyLogger.log(LOG, Level.WARN, "received duplicate response(index={})", index);
+                return;
+            }
+
+            if (reorderBuffer == null) {
+                receive(message);
             } else {
-                // Unknown totalReplies (streaming): cap growth to avoid unbounded memory.
-                if (start >= maxDedupBitsWhenUnknown) {
-                    return false;
-                }
+                reorderBuffer.accept(index, message);
             }
+        }
+    }
 
-            // Dedup by start index only.
-            if (numericReplyIndexBitSet.get(start)) {
-                requestReplyLogger.log(LOG, Level.WARN, "received duplicate response(index={})", replyIndex);
-                return true;
+    /**
+     * @return whether the index was received before, it is recorded as received if tracked
+     */
+    private boolean testAndSetReceived(int index) {
+        // If totalReplies is known, clamp to [0, total-1].
+        int size = numericReplyIndexLimit;
+        if (size > 0) {
+            return index < size && numericReplyIndexes().testAndSet(index);
+        }
+        if (index < maxDedupBitsWhenUnknown) {
+            return numericReplyIndexes().testAndSet(index);
+        }
+        // Unknown totalReplies (streaming): beyond the cap, keep a bounded window to avoid unbounded memory.
+        return dedupWindowBitsWhenUnknown > 0 && streamingReplyIndexes().testAndSet(index);
+    }
+
+    private boolean isReceived(int index) {
+        int size = numericReplyIndexLimit;
+        if (size > 0 || index < maxDedupBitsWhenUnknown) {
+            ReplyIndexBitmap bitmap = numericReplyIndexes.get();
+            return (size <= 0 || index < size) && bitmap != null && bitmap.test(index);
+        }
+        ReplyIndexWindow window = streamingReplyIndexes.get();
+        return window != null && window.test(index);
+    }
+
+    private ReplyIndexWindow streamingReplyIndexes() {
+        ReplyIndexWindow window = streamingReplyIndexes.get();
+        if (window == null) {
+            ReplyIndexWindow allocated = new ReplyIndexWindow(Math.max(0, maxDedupBitsWhenUnknown), dedupWindowBitsWhenUnknown);
+            window = streamingReplyIndexes.compareAndExchange(null, allocated);
+            if (window == null) {
+                window = allocated;
             }
+        }
+        return window;
+    }
 
-            numericReplyIndexBitSet.set(start);
-            return false;
+    private ReplyIndexBitmap numericReplyIndexes() {
+        ReplyIndexBitmap bitmap = numericReplyIndexes.get();
+        if (bitmap == null) {
+            ReplyIndexBitmap allocated = new ReplyIndexBitmap();
+            bitmap = numericReplyIndexes.compareAndExchange(null, allocated);
+            if (bitmap == null) {
+                bitmap = allocated;
+            }
         }
+        return bitmap;
     }
 
     public void await() throws RemoteErrorException, InterruptedException {
@@ -124,6 +286,16 @@ public class ResponseHandler {
         }
     }
 
+    /**
+     * Non-blocking alternative to {@link #await()}.
+     *
+     * @return a future that is completed by the thread delivering the last reply, the error reply or the abort.
+     * An error reply completes it exceptionally with a {@link RequestReplyException} wrapping a {@link RemoteErrorException}.
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
     public void setTotalReplies(Long totalReplies) {
         if (supportMultipleResponses && isFirstMessage && totalReplies >= 1) {
             // Set total messages to expect when a multi message on a first message.
@@ -132,7 +304,7 @@ public class ResponseHandler {
 
             // If totalReplies is known and within Integer range, enable bounded numeric dedup.
             if (totalReplies <= Integer.MAX_VALUE) {
-                numericReplyIndexBitSetSize = totalReplies.intValue();
+                numericReplyIndexLimit = totalReplies.intValue();
                 // Don't eagerly allocate; it might never be needed if replyIndex isn't present.
             }
         }
@@ -157,49 +329,85 @@ public class ResponseHandler {
     }
 
 
-    private static Integer tryParseNonNegativeReplyIndexStart(String text) {
+    /**
+     * @return the range packed into a long, see {@link #rangeStart(long)} and {@link #rangeEnd(long)}, or -1 if invalid
+     */
+    private static long tryParseNonNegativeReplyIndexRange(String text) {
         // Accept:
-        // - "123" -> 123
-        // - "12-34" -> 12 (start)
+        // - "123" -> 123-123
+        // - "12-34" -> 12-34
         // Reject:
-        // - "-1", "12-", "-12", "12-34-56", "", non-digits
+        // - "-1", "12-", "-12", "12-34-56", "34-12", "", non-digits, values above Integer.MAX_VALUE
         int len = text.length();
         if (len == 0) {
-            return null;
+            return -1;
         }
 
-        int value = 0;
+        long start = -1;
+        long value = 0;
+        boolean digits = false;
         for (int i = 0; i < len; i++) {
             char c = text.charAt(i);
 
             if (c == '-') {
-                // must not be leading or trailing
-                return (i == 0 || i == len - 1) ? null : value;
+                // must not be leading, trailing or repeated
+                if (!digits || start >= 0) {
+                    return -1;
+                }
+                start = value;
+                value = 0;
+                digits = false;
+                continue;
             }
 
             if (c < '0' || c > '9') {
-                return null;
+                return -1;
             }
 
             value = value * 10 + (c - '0');
-            if (value < 0) {
-                return null;
+            digits = true;
+            if (value > Integer.MAX_VALUE) {
+                return -1;
             }
         }
 
-        return value;
+        if (!digits) {
+            return -1;
+        }
+        if (start < 0) {
+            start = value;
+        }
+        return start > value ? -1 : start << Integer.SIZE | value;
+    }
+
+    private static int rangeStart(long range) {
+        return (int) (range >>> Integer.SIZE);
+    }
+
+    private static int rangeEnd(long range) {
+        return (int) range;
     }
 
     private void finished() {
         // Clear per-request dedup bookkeeping to avoid retaining replyIndex values
         // longer than necessary (success, error, or timeout/abort paths all call finished()).
-        numericReplyIndexBitSet = null;
-        numericReplyIndexBitSetSize = -1;
+        numericReplyIndexes.set(null);
+        streamingReplyIndexes.set(null);
+        numericReplyIndexLimit = -1;
+        if (reorderBuffer != null) {
+            reorderBuffer.close();
+        }
 
         if (timer != null) {
-            timer.record(Duration.between(requestTime, Instant.now()));
+            timer.record(System.nanoTime() - requestNanos, TimeUnit.NANOSECONDS);
         }
         countDownLatch.countDown();
+
+        if (StringUtils.hasText(errorMessage)) {
+            completion.completeExceptionally(new RequestReplyException(new RemoteErrorException(errorMessage)));
+        } else {
+            completion.complete(null);
+        }
     }
 
     public void abort() {
@@ -0,0 +1,222 @@
+package community.solace.spring.cloud.requestreply.service.buffer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Bounded buffer between the thread receiving the replies of a reactive request and its subscriber.
+ * <p>
+ * Replies are queued by the reply consumer and emitted on the executor only as far as the subscriber requested them,
+ * so a slow subscriber neither stalls the reply consumer of its binding nor makes the buffer grow without bound.
+ * A reply arriving while the buffer is full is handled according to {@code replyBuffer.overflow}.
+ */
+public class ReplyBuffer<A> implements Consumer<Message<?>> {
+    private static final Logger LOG = LoggerFactory.getLogger(ReplyBuffer.class);
+
+    // Interval at which a blocked reply consumer checks whether the request completed meanwhile.
+    private static final long BLOCK_POLL_MILLIS = 10;
+
+    private final ReplyBuffers buffers;
+    private final Function<Message<?>, A> converter;
+    private final FluxSink<A> sink;
+    private final Executor executor;
+    private final BlockingQueue<Message<?>> queue;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final CompletableFuture<Void> aborted = new CompletableFuture<>();
+
+    private volatile boolean done;
+    private volatile boolean failed;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    private volatile boolean terminated;
+
+    ReplyBuffer(ReplyBuffers buffers, Function<Message<?>, A> converter, FluxSink<A> sink, Executor executor) {
+        this.buffers = buffers;
+        this.converter = converter;
+        this.sink = sink;
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(buffers.getProperties().getCapacity());
+    }
+
+    /**
+     * Buffers a reply, called by the reply consumer.
+     */
+    @Override
+    public void accept(Message<?> message) {
+        if (done || cancelled) {
+            return;
+        }
+
+        if (queue.offer(message)) {
+            buffers.changeDepth(1);
+        } else {
+            buffers.overflowed();
+            switch (buffers.getProperties().getOverflow()) {
+                case DROP -> LOG.debug("Dropped reply, the reply buffer of binding {} is full", buffers.getBindingName());
+                case ERROR -> {
+                    fail(new IllegalStateException("Reply buffer of binding " + buffers.getBindingName()
+                            + " overflowed its capacity of " + buffers.getProperties().getCapacity() + " replies"));
+                    aborted.complete(null);
+                }
+                case BLOCK -> block(message);
+            }
+        }
+
+        if (terminated) {
+            // Raced with the termination of the stream, nobody is going to emit this reply anymore.
+            clear();
+        } else {
+            drain();
+        }
+    }
+
+    private void block(Message<?> message) {
+        try {
+            while (!done && !cancelled) {
+                if (queue.offer(message, BLOCK_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    buffers.changeDepth(1);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param n additional replies the subscriber requested
+     */
+    public void request(long n) {
+        requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+        drain();
+    }
+
+    /**
+     * Completes the stream once the buffered replies were emitted.
+     */
+    public void complete() {
+        done = true;
+        drain();
+    }
+
+    /**
+     * Fails the stream once the buffered replies were emitted.
+     */
+    public void error(Throwable error) {
+        if (!done) {
+            this.error = error;
+            done = true;
+        }
+        drain();
+    }
+
+    /**
+     * Discards the buffered replies, called when the subscriber cancelled.
+     */
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    /**
+     * @return a future that completes when the buffer gave up on its request, which should abort it
+     */
+    public CompletableFuture<Void> aborted() {
+        return aborted;
+    }
+
+    private void fail(Throwable error) {
+        this.error = error;
+        failed = true;
+        done = true;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        try {
+            executor.execute(this::drainLoop);
+        } catch (RejectedExecutionException e) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        while (!terminated) {
+            long demand = requested.get();
+            long emitted = 0;
+
+            while (emitted != demand && !cancelled && !failed) {
+                Message<?> message = queue.poll();
+                if (message == null) {
+                    break;
+                }
+                buffers.changeDepth(-1);
+
+                A value;
+                try {
+                    value = converter.apply(message);
+                } catch (RuntimeException e) {
+                    fail(e);
+                    aborted.complete(null);
+                    break;
+                }
+
+                if (value != null) {
+                    sink.next(value);
+                    emitted++;
+                }
+            }
+
+            if (emitted != 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+
+            if (cancelled || failed) {
+                terminated = true;
+                clear();
+                if (failed && !cancelled) {
+                    sink.error(error);
+                }
+            } else if (done && queue.isEmpty()) {
+                terminated = true;
+                if (error == null) {
+                    sink.complete();
+                } else {
+                    sink.error(error);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+        clear();
+    }
+
+    private void clear() {
+        int cleared = 0;
+        while (queue.poll() != null) {
+            cleared++;
+        }
+        buffers.changeDepth(-cleared);
+    }
+}
@@ -0,0 +1,93 @@
+package community.solace.spring.cloud.requestreply.service.buffer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import community.solace.spring.cloud.requestreply.config.ReplyBufferProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Creates the {@link ReplyBuffer}s of one binding, see {@code bindingMapping[].replyBuffer}, and keeps their meters.
+ */
+public class ReplyBuffers {
+    private final String bindingName;
+    private final ReplyBufferProperties properties;
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Counter overflows;
+    private final MeterRegistry registry;
+    private final Gauge depthGauge;
+
+    public ReplyBuffers(String bindingName, ReplyBufferProperties properties, MeterRegistry registry) {
+        if (properties.getCapacity() < 1) {
+            throw new IllegalArgumentException("replyBuffer.capacity must be positive for binding: " + bindingName);
+        }
+
+        this.bindingName = bindingName;
+        this.properties = properties;
+        this.registry = registry;
+
+        if (registry == null) {
+            this.overflows = null;
+            this.depthGauge = null;
+        } else {
+            this.depthGauge = Gauge.builder("requestReply.replyBuffer.depth", depth, AtomicInteger::get)
+                    .description("RequestReply replies buffered until their subscriber requests them")
+                    .tag("binding", bindingName)
+                    .register(registry);
+            this.overflows = Counter.builder("requestReply.replyBuffer.overflow")
+                    .description("RequestReply replies that arrived while their reply buffer was full")
+                    .tag("binding", bindingName)
+                    .tag("strategy", properties.getOverflow().name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @param converter maps a reply to the element emitted, or {@code null} to skip it
+     * @param sink      the stream of the request
+     * @param executor  the executor emitting the buffered replies
+     */
+    public <A> ReplyBuffer<A> create(Function<Message<?>, A> converter, FluxSink<A> sink, Executor executor) {
+        return new ReplyBuffer<>(this, converter, sink, executor);
+    }
+
+    /**
+     * Removes the gauges of this instance, so that the instance replacing it when the binding mapping is bound again
+     * can register its own.
+     */
+    public void removeGauges() {
+        if (depthGauge != null) {
+            registry.remove(depthGauge);
+        }
+    }
+
+    String getBindingName() {
+        return bindingName;
+    }
+
+    ReplyBufferProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return the number of replies buffered by all requests of the binding
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    void changeDepth(int delta) {
+        depth.addAndGet(delta);
+    }
+
+    void overflowed() {
+        if (overflows != null) {
+            overflows.increment();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package community.solace.spring.cloud.requestreply.service.buffer;
+
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import community.solace.spring.cloud.requestreply.util.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+
+/**
+ * Hands the replies of one request on in the order of their index, however they are received.
+ * <p>
+ * A reply is handed on right away if it is the next one, otherwise it waits in a ring of {@code replyOrdering.capacity}
+ * slots until the replies before it arrived. A missing reply is given up once the replies after it waited for
+ * {@code replyOrdering.gapTimeout}, or once a reply arrives that is too far ahead to fit into the ring. A reply arriving
+ * after it was given up is handed on out of order rather than dropped.
+ * <p>
+ * Replies are handed on by the thread that received the missing reply, one at a time, so receiving threads wait for
+ * each other while one of them hands on replies.
+ */
+public class ReplyReorderBuffer {
+    private static final Logger LOG = LoggerFactory.getLogger(ReplyReorderBuffer.class);
+
+    private final ReplyReorderBuffers buffers;
+    private final Consumer<Message<?>> downstream;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Message<?>[] slots;
+
+    // Guarded by the lock.
+    private long next;
+    private int buffered;
+    // The index replies wait for since stallStartNanos, if gapTimeout is set.
+    private long stalledAt;
+    private long stallStartNanos;
+    private HashedWheelTimer.Timeout gapTimeout;
+
+    private volatile boolean closed;
+
+    ReplyReorderBuffer(ReplyReorderBuffers buffers, Consumer<Message<?>> downstream) {
+        this.buffers = buffers;
+        this.downstream = downstream;
+        this.slots = new Message<?>[buffers.getProperties().getCapacity()];
+    }
+
+    /**
+     * @param index   the non-negative index of the reply, the first reply has index 0
+     * @param message the reply
+     */
+    public void accept(long index, Message<?> message) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            if (index < next) {
+                // Given up already, handing it on late is better than losing it.
+                buffers.arrivedLate();
+                downstream.accept(message);
+                return;
+            }
+
+            if (index >= next + slots.length) {
+                long missing = skipTo(index - slots.length + 1);
+                if (missing > 0) {
+                    buffers.overflowed(missing);
+                    LOG.debug("Gave up {} replies, a reply of binding {} was too far ahead of them", missing, buffers.getBindingName());
+                }
+                drain();
+            }
+
+            if (index == next) {
+                next++;
+                downstream.accept(message);
+                drain();
+            } else {
+                int slot = slot(index);
+                // An occupied slot holds a duplicate, the one received first wins.
+                if (slots[slot] == null) {
+                    slots[slot] = message;
+                    buffered++;
+                    buffers.changeDepth(1);
+                }
+            }
+            updateStall();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Discards the buffered replies, called when the request completed.
+     * Does not wait for a thread handing on replies, that thread discards them instead.
+     */
+    public void close() {
+        closed = true;
+        if (lock.tryLock()) {
+            try {
+                release();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void gapTimedOut(long gap) {
+        lock.lock();
+        try {
+            if (closed || next != gap || buffered == 0) {
+                // The gap was filled or given up meanwhile.
+                return;
+            }
+
+            long first = next;
+            while (slots[slot(first)] == null) {
+                first++;
+            }
+            buffers.gapTimedOut(first - next);
+            LOG.debug("Gave up {} replies of binding {} after the gap timeout", first - next, buffers.getBindingName());
+            skipTo(first);
+            drain();
+            updateStall();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Hands on the buffered replies below the target, giving up the missing ones.
+     *
+     * @return the number of replies given up
+     */
+    private long skipTo(long target) {
+        long missing = 0;
+        while (next < target && buffered > 0 && !closed) {
+            Message<?> message = take(next++);
+            if (message == null) {
+                missing++;
+            } else {
+                downstream.accept(message);
+            }
+        }
+        if (next < target) {
+            missing += target - next;
+            next = target;
+        }
+        return missing;
+    }
+
+    private void drain() {
+        while (buffered > 0 && !closed) {
+            Message<?> message = take(next);
+            if (message == null) {
+                return;
+            }
+            next++;
+            downstream.accept(message);
+        }
+    }
+
+    private Message<?> take(long index) {
+        int slot = slot(index);
+        Message<?> message = slots[slot];
+        if (message != null) {
+            slots[slot] = null;
+            buffered--;
+            buffers.changeDepth(-1);
+        }
+        return message;
+    }
+
+    /**
+     * Measures how long replies wait for the next one, and schedules giving it up.
+     */
+    private void updateStall() {
+        if (closed) {
+            return;
+        }
+
+        if (buffered == 0) {
+            endStall();
+        } else if (gapTimeout == null || stalledAt != next) {
+            endStall();
+            long gap = next;
+            stalledAt = gap;
+            stallStartNanos = System.nanoTime();
+            gapTimeout = buffers.getTimer().newTimeout(
+                    () -> {
+                        try {
+                            buffers.getExecutor().execute(() -> gapTimedOut(gap));
+                        } catch (RejectedExecutionException e) {
+                            gapTimedOut(gap);
+                        }
+                    },
+                    buffers.getProperties().getGapTimeout());
+        }
+    }
+
+    private void endStall() {
+        if (gapTimeout != null) {
+            gapTimeout.cancel();
+            gapTimeout = null;
+            buffers.stalled(System.nanoTime() - stallStartNanos);
+        }
+    }
+
+    private void release() {
+        if (buffered > 0) {
+            Arrays.fill(slots, null);
+            buffers.changeDepth(-buffered);
+            buffered = 0;
+        }
+        if (gapTimeout != null) {
+            gapTimeout.cancel();
+            gapTimeout = null;
+        }
+    }
+
+    /**
+     * Unlocks, discarding the buffered replies if the buffer was closed while it was locked.
+     */
+    private void unlock() {
+        lock.unlock();
+        if (closed && lock.tryLock()) {
+            try {
+                release();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int slot(long index) {
+        return (int) (index % slots.length);
+    }
+}
@@ -0,0 +1,148 @@
+package community.solace.spring.cloud.requestreply.service.buffer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import community.solace.spring.cloud.requestreply.config.ReplyOrderingProperties;
+import community.solace.spring.cloud.requestreply.util.HashedWheelTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+
+/**
+ * Creates the {@link ReplyReorderBuffer}s of one binding, see {@code bindingMapping[].replyOrdering}, and keeps their
+ * meters.
+ */
+public class ReplyReorderBuffers {
+    private final String bindingName;
+    private final ReplyOrderingProperties properties;
+    private final HashedWheelTimer timer;
+    private final Executor executor;
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Timer stalls;
+    private final Counter gapTimeouts;
+    private final Counter overflows;
+    private final Counter late;
+    private final MeterRegistry registry;
+    private final Gauge depthGauge;
+
+    /**
+     * @param timer    the timer the gap timeouts are scheduled on
+     * @param executor the executor handing on the replies after a gap timed out, rather than the thread of the timer
+     */
+    public ReplyReorderBuffers(String bindingName, ReplyOrderingProperties properties, HashedWheelTimer timer, Executor executor, MeterRegistry registry) {
+        if (properties.getCapacity() < 1) {
+            throw new IllegalArgumentException("replyOrdering.capacity must be positive for binding: " + bindingName);
+        }
+        if (properties.getGapTimeout() == null || properties.getGapTimeout().isNegative() || properties.getGapTimeout().isZero()) {
+            throw new IllegalArgumentException("replyOrdering.gapTimeout must be positive for binding: " + bindingName);
+        }
+
+        this.bindingName = bindingName;
+        this.properties = properties;
+        this.timer = timer;
+        this.executor = executor;
+        this.registry = registry;
+
+        if (registry == null) {
+            this.stalls = null;
+            this.gapTimeouts = null;
+            this.overflows = null;
+            this.late = null;
+            this.depthGauge = null;
+        } else {
+            this.depthGauge = Gauge.builder("requestReply.replyOrdering.depth", depth, AtomicInteger::get)
+                    .description("RequestReply replies waiting for a reply with a lower replyIndex")
+                    .tag("binding", bindingName)
+                    .register(registry);
+            this.stalls = Timer.builder("requestReply.replyOrdering.stall")
+                    .description("RequestReply time replies waited for a missing reply until it arrived or was given up")
+                    .tag("binding", bindingName)
+                    .register(registry);
+            this.gapTimeouts = Counter.builder("requestReply.replyOrdering.gapTimeout")
+                    .description("RequestReply missing replies given up after the gap timeout")
+                    .tag("binding", bindingName)
+                    .register(registry);
+            this.overflows = Counter.builder("requestReply.replyOrdering.overflow")
+                    .description("RequestReply missing replies given up because a reply was too far ahead of them")
+                    .tag("binding", bindingName)
+                    .register(registry);
+            this.late = Counter.builder("requestReply.replyOrdering.late")
+                    .description("RequestReply replies handed on out of order because they arrived after they were given up")
+                    .tag("binding", bindingName)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @param downstream receives the replies in order of their index
+     */
+    public ReplyReorderBuffer create(Consumer<Message<?>> downstream) {
+        return new ReplyReorderBuffer(this, downstream);
+    }
+
+    /**
+     * Removes the gauges of this instance, so that the instance replacing it when the binding mapping is bound again
+     * can register its own.
+     */
+    public void removeGauges() {
+        if (depthGauge != null) {
+            registry.remove(depthGauge);
+        }
+    }
+
+    String getBindingName() {
+        return bindingName;
+    }
+
+    ReplyOrderingProperties getProperties() {
+        return properties;
+    }
+
+    HashedWheelTimer getTimer() {
+        return timer;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return the number of replies buffered by all requests of the binding
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    void changeDepth(int delta) {
+        depth.addAndGet(delta);
+    }
+
+    void stalled(long nanos) {
+        if (stalls != null) {
+            stalls.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void gapTimedOut(long missing) {
+        if (gapTimeouts != null) {
+            gapTimeouts.increment(missing);
+        }
+    }
+
+    void overflowed(long missing) {
+        if (overflows != null) {
+            overflows.increment(missing);
+        }
+    }
+
+    void arrivedLate() {
+        if (late != null) {
+            late.increment();
+        }
+    }
+}
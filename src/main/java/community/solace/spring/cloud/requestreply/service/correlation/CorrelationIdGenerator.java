@@ -0,0 +1,14 @@
+package community.solace.spring.cloud.requestreply.service.correlation;
+
+/**
+ * Generates the correlation id of requests that do not carry one yet.
+ * Use this interface by creating a bean that implements it, to replace the default {@link SequentialCorrelationIdGenerator}.
+ * <p>
+ * Correlation ids must be unique among all requesters that share a reply topic, for at least the timeout of a request.
+ */
+public interface CorrelationIdGenerator {
+    /**
+     * @return a new correlation id, called once per request and possibly from many threads at the same time
+     */
+    String nextId();
+}
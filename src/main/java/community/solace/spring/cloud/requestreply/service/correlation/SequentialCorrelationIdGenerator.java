@@ -0,0 +1,52 @@
+package community.solace.spring.cloud.requestreply.service.correlation;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default {@link CorrelationIdGenerator}: a random prefix, drawn once per instance, followed by a sequence number.
+ * <p>
+ * Both parts are encoded with the 64 URL safe characters of base64, which results in ids of 13 to 23 characters
+ * instead of the 36 characters of a {@link java.util.UUID}. Generating an id only takes an atomic increment, the
+ * {@link SecureRandom} is used only once per instance.
+ */
+public class SequentialCorrelationIdGenerator implements CorrelationIdGenerator {
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final int BITS_PER_CHAR = 6;
+    private static final int PREFIX_LENGTH = 11; // 66 bits, to hold the 64 random bits
+    private static final char SEPARATOR = '.';
+
+    private final char[] prefix;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SequentialCorrelationIdGenerator() {
+        this(new SecureRandom().nextLong());
+    }
+
+    SequentialCorrelationIdGenerator(long instanceId) {
+        prefix = new char[PREFIX_LENGTH];
+        for (int i = PREFIX_LENGTH - 1; i >= 0; i--) {
+            prefix[i] = ALPHABET[(int) (instanceId & 0x3F)];
+            instanceId >>>= BITS_PER_CHAR;
+        }
+    }
+
+    @Override
+    public String nextId() {
+        long value = sequence.getAndIncrement();
+
+        int digits = 1;
+        for (long rest = value >>> BITS_PER_CHAR; rest != 0; rest >>>= BITS_PER_CHAR) {
+            digits++;
+        }
+
+        char[] id = new char[PREFIX_LENGTH + 1 + digits];
+        System.arraycopy(prefix, 0, id, 0, PREFIX_LENGTH);
+        id[PREFIX_LENGTH] = SEPARATOR;
+        for (int i = id.length - 1; i > PREFIX_LENGTH; i--) {
+            id[i] = ALPHABET[(int) (value & 0x3F)];
+            value >>>= BITS_PER_CHAR;
+        }
+        return new String(id);
+    }
+}
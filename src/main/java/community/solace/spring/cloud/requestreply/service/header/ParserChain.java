@@ -0,0 +1,38 @@
+package community.solace.spring.cloud.requestreply.service.header;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+
+/**
+ * The parsers of one request-reply attribute, tried in order of their precedence until one of them finds it.
+ *
+ * @param <P> the parser type
+ * @param <T> the attribute type
+ */
+final class ParserChain<P, T> {
+    private final List<P> parsers;
+    private final BiFunction<P, Message<?>, T> parse;
+
+    ParserChain(List<P> parsers, BiFunction<P, Message<?>, T> parse) {
+        this.parsers = List.copyOf(parsers);
+        this.parse = parse;
+    }
+
+    @Nullable
+    T resolve(Message<?> message) {
+        if (message == null) {
+            return null;
+        }
+
+        for (P parser : parsers) {
+            T value = parse.apply(parser, message);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
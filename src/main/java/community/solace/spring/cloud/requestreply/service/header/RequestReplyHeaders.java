@@ -0,0 +1,93 @@
+package community.solace.spring.cloud.requestreply.service.header;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+
+/**
+ * The request-reply attributes of one message, each parsed at most once and only when it is first asked for.
+ * <p>
+ * Obtained from {@link RequestReplyMessageHeaderSupportService#resolveHeaders(Message)}. An instance is meant
+ * to be used by one thread at a time, as handling a message is.
+ */
+public final class RequestReplyHeaders {
+    private static final int CORRELATION_ID = 1;
+    private static final int DESTINATION = 1 << 1;
+    private static final int REPLY_TO = 1 << 2;
+    private static final int TOTAL_REPLIES = 1 << 3;
+    private static final int REPLY_INDEX = 1 << 4;
+    private static final int ERROR_MESSAGE = 1 << 5;
+
+    private final RequestReplyMessageHeaderSupportService headerSupport;
+    private final Message<?> message;
+    private int resolved;
+
+    private String correlationId;
+    private String destination;
+    private String replyTo;
+    private Long totalReplies;
+    private String replyIndex;
+    private String errorMessage;
+
+    RequestReplyHeaders(RequestReplyMessageHeaderSupportService headerSupport, Message<?> message) {
+        this.headerSupport = headerSupport;
+        this.message = message;
+    }
+
+    public Message<?> getMessage() {
+        return message;
+    }
+
+    public @Nullable
+    String getCorrelationId() {
+        if ((resolved & CORRELATION_ID) == 0) {
+            correlationId = headerSupport.correlationIds().resolve(message);
+            resolved |= CORRELATION_ID;
+        }
+        return correlationId;
+    }
+
+    public @Nullable
+    String getDestination() {
+        if ((resolved & DESTINATION) == 0) {
+            destination = headerSupport.destinations().resolve(message);
+            resolved |= DESTINATION;
+        }
+        return destination;
+    }
+
+    public @Nullable
+    String getReplyTo() {
+        if ((resolved & REPLY_TO) == 0) {
+            replyTo = headerSupport.replyTos().resolve(message);
+            resolved |= REPLY_TO;
+        }
+        return replyTo;
+    }
+
+    public @Nullable
+    Long getTotalReplies() {
+        if ((resolved & TOTAL_REPLIES) == 0) {
+            totalReplies = headerSupport.totalReplies().resolve(message);
+            resolved |= TOTAL_REPLIES;
+        }
+        return totalReplies;
+    }
+
+    public @Nullable
+    String getReplyIndex() {
+        if ((resolved & REPLY_INDEX) == 0) {
+            replyIndex = headerSupport.replyIndexes().resolve(message);
+            resolved |= REPLY_INDEX;
+        }
+        return replyIndex;
+    }
+
+    public @Nullable
+    String getErrorMessage() {
+        if ((resolved & ERROR_MESSAGE) == 0) {
+            errorMessage = headerSupport.errorMessages().resolve(message);
+            resolved |= ERROR_MESSAGE;
+        }
+        return errorMessage;
+    }
+}
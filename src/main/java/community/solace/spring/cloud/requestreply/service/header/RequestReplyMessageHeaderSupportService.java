@@ -3,14 +3,17 @@ package community.solace.spring.cloud.requestreply.service.header;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import community.solace.spring.cloud.requestreply.config.RequestReplyProperties;
 import community.solace.spring.cloud.requestreply.service.MessageConverter;
+import community.solace.spring.cloud.requestreply.service.MessageConverter.ConversionPlan;
 import community.solace.spring.cloud.requestreply.service.header.parser.SpringHeaderParser;
 import community.solace.spring.cloud.requestreply.service.header.parser.correlationid.MessageCorrelationIdParser;
 import community.solace.spring.cloud.requestreply.service.header.parser.destination.MessageDestinationParser;
@@ -19,12 +22,15 @@ import community.solace.spring.cloud.requestreply.service.header.parser.replyto.
 import community.solace.spring.cloud.requestreply.service.header.parser.totalreplies.MessageTotalRepliesParser;
 import community.solace.spring.cloud.requestreply.service.header.parser.replyindex.MessageReplyIndexParser;
 import community.solace.spring.cloud.requestreply.service.messageinterceptor.ReplyWrappingInterceptor;
+import community.solace.spring.cloud.requestreply.service.serializer.ResponseSerializer;
 import community.solace.spring.cloud.requestreply.util.MessageChunker;
-import org.apache.commons.lang3.tuple.Pair;
+import community.solace.spring.cloud.requestreply.util.MessageChunker.Chunk;
+import io.micrometer.core.instrument.MeterRegistry;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.stream.binder.BinderHeaders;
 import org.springframework.cloud.stream.config.BindingProperties;
@@ -40,10 +46,7 @@ import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.StringUtils;
 
 @Service
-public class RequestReplyMessageHeaderSupportService {
-
-    private final static int MAX_MSG_PER_CHUNK = 10_000;
-    private final static int ONE_MB = 1_000_000;
+public class RequestReplyMessageHeaderSupportService implements InitializingBean {
 
     @Autowired
     private List<MessageCorrelationIdParser> correlationIdHeaderParsers;
@@ -71,89 +74,93 @@ public class RequestReplyMessageHeaderSupportService {
     private BindingServiceProperties bindingServiceProperties;
     @Autowired
     private ReplyWrappingInterceptor replyWrappingInterceptor;
+    @Autowired(required = false)
+    private MeterRegistry registry;
+    @Autowired(required = false)
+    private List<ResponseSerializer> responseSerializers = List.of();
+
+    private final Map<String, ResponseGrouping> groupings = new ConcurrentHashMap<>();
+    private final Map<String, ResponseEncoding> encodings = new ConcurrentHashMap<>();
+
+    private ParserChain<MessageCorrelationIdParser, String> correlationIds;
+    private ParserChain<MessageDestinationParser, String> destinations;
+    private ParserChain<MessageReplyToParser, String> replyTos;
+    private ParserChain<MessageTotalRepliesParser, Long> totalReplies;
+    private ParserChain<MessageReplyIndexParser, String> replyIndexes;
+    private ParserChain<MessageErrorMessageParser, String> errorMessages;
+
+    @Override
+    public void afterPropertiesSet() {
+        correlationIds = new ParserChain<>(correlationIdHeaderParsers, MessageCorrelationIdParser::getCorrelationId);
+        destinations = new ParserChain<>(destinationHeaderParsers, MessageDestinationParser::getDestination);
+        replyTos = new ParserChain<>(replyToParsers, MessageReplyToParser::getReplyTo);
+        totalReplies = new ParserChain<>(totalRepliesParsers, MessageTotalRepliesParser::getTotalReplies);
+        replyIndexes = new ParserChain<>(replyIndexParsers, MessageReplyIndexParser::getReplyIndex);
+        errorMessages = new ParserChain<>(errorMessageParsers, MessageErrorMessageParser::getErrorMessage);
+    }
+
+    /**
+     * Resolves the request-reply attributes of a message, each of them parsed at most once, when it is first asked for.
+     *
+     * @param message the message
+     * @return the request-reply attributes of the message
+     */
+    public RequestReplyHeaders resolveHeaders(Message<?> message) {
+        return new RequestReplyHeaders(this, message);
+    }
+
+    ParserChain<MessageCorrelationIdParser, String> correlationIds() {
+        return correlationIds;
+    }
+
+    ParserChain<MessageDestinationParser, String> destinations() {
+        return destinations;
+    }
+
+    ParserChain<MessageReplyToParser, String> replyTos() {
+        return replyTos;
+    }
+
+    ParserChain<MessageTotalRepliesParser, Long> totalReplies() {
+        return totalReplies;
+    }
+
+    ParserChain<MessageReplyIndexParser, String> replyIndexes() {
+        return replyIndexes;
+    }
+
+    ParserChain<MessageErrorMessageParser, String> errorMessages() {
+        return errorMessages;
+    }
 
     public @Nullable
     String getCorrelationId(Message<?> message) {
-        if (message == null) {
-            return null;
-        }
-        for (MessageCorrelationIdParser p : correlationIdHeaderParsers) {
-            String value = p.getCorrelationId(message);
-            if (value != null) {
-                return value;
-            }
-        }
-        return null;
+        return correlationIds.resolve(message);
     }
 
     public @Nullable
     String getDestination(Message<?> message) {
-        if (message == null) {
-            return null;
-        }
-        for (MessageDestinationParser p : destinationHeaderParsers) {
-            String value = p.getDestination(message);
-            if (value != null) {
-                return value;
-            }
-        }
-        return null;
+        return destinations.resolve(message);
     }
 
     public @Nullable
     String getReplyTo(Message<?> message) {
-        if (message == null) {
-            return null;
-        }
-        for (MessageReplyToParser p : replyToParsers) {
-            String value = p.getReplyTo(message);
-            if (value != null) {
-                return value;
-            }
-        }
-        return null;
+        return replyTos.resolve(message);
     }
 
     public @Nullable
     Long getTotalReplies(Message<?> message) {
-        if (message == null) {
-            return null;
-        }
-        for (MessageTotalRepliesParser p : totalRepliesParsers) {
-            Long value = p.getTotalReplies(message);
-            if (value != null) {
-                return value;
-            }
-        }
-        return null;
+        return totalReplies.resolve(message);
     }
 
     public @Nullable
     String getReplyIndex(Message<?> message) {
-        if (message == null) {
-            return null;
-        }
-        for (MessageReplyIndexParser p : replyIndexParsers) {
-            String value = p.getReplyIndex(message);
-            if (value != null) {
-                return value;
-            }
-        }
-        return null;
+        return replyIndexes.resolve(message);
     }
 
     public @Nullable
     String getErrorMessage(Message<?> message) {
-        if (message == null) {
-            return null;
-        }
-        for (MessageErrorMessageParser p : errorMessageParsers) {
-            String value = p.getErrorMessage(message);
-            if (value != null) {
-                return value;
-            }
-        }
-        return null;
+        return errorMessages.resolve(message);
     }
 
     /**
@@ -209,13 +216,14 @@ public class RequestReplyMessageHeaderSupportService {
                                                                                                                             Map<String, Object> additionalHeaders,
                                                                                                                             Class<? extends Throwable>... applicationExceptions) {
         return request -> {
+            RequestReplyHeaders requestHeaders = resolveHeaders(request);
             try {
                 A response = payloadFunction.apply(request.getPayload());
                 if (response == null) {
                     return null;
                 }
                 MessageBuilder<A> mb = MessageBuilder.withPayload(response);
-                transferAndAdoptHeaders(request, mb);
+                transferAndAdoptHeaders(requestHeaders, mb);
                 if (additionalHeaders != null) {
                     for (var header : additionalHeaders.entrySet()) {
                         mb.setHeader(header.getKey(), header.getValue());
@@ -227,7 +235,7 @@ public class RequestReplyMessageHeaderSupportService {
                 if (applicationExceptions != null) {
                     for (Class<? extends Throwable> applicationException : applicationExceptions) {
                         if (applicationException.isInstance(e)) {
-                            return errorResponse(request, e, bindingName);
+                            return errorResponse(requestHeaders, e, bindingName);
                         }
                     }
                 }
@@ -253,6 +261,7 @@ public class RequestReplyMessageHeaderSupportService {
     @SafeVarargs
     public final <Q, A, T extends Function<Q, List<A>>, E extends Throwable> Function<Message<Q>, List<Message<A>>> wrapList(T payloadFunction, String bindingName, Class<E>... applicationExceptions) {
         return request -> {
+            RequestReplyHeaders requestHeaders = resolveHeaders(request);
             try {
                 List<A> rawResponses = payloadFunction.apply(request.getPayload());
 
@@ -261,14 +270,14 @@ public class RequestReplyMessageHeaderSupportService {
                 }
 
                 if (CollectionUtils.isEmpty(rawResponses)) {
-                    return interceptResponses(bindingName, List.of(emptyMsg(request, 0, 0, bindingName)));
+                    return interceptResponses(bindingName, List.of(emptyMsg(requestHeaders, 0, 0, bindingName)));
                 } else {
 
                     if (Boolean.TRUE.equals(request.getHeaders()
                                                    .get(SpringHeaderParser.GROUPED_MESSAGES)) && StringUtils.hasText(bindingName)) {
-                        return interceptResponses(bindingName, wrapListGroupedResponses(request, rawResponses, getContentType(bindingName), bindingName));
+                        return interceptResponses(bindingName, wrapListGroupedResponses(requestHeaders, rawResponses, encoding(bindingName), bindingName));
                     } else {
-                        return wrapListSingleResponses(request, rawResponses, bindingName);
+                        return wrapListSingleResponses(requestHeaders, rawResponses, bindingName);
                     }
                 }
             }
@@ -276,7 +285,7 @@ public class RequestReplyMessageHeaderSupportService {
                 if (applicationExceptions != null) {
                     for (Class<E> applicationException : applicationExceptions) {
                         if (applicationException.isInstance(e)) {
-                            return List.of(errorResponse(request, e, bindingName));
+                            return List.of(errorResponse(requestHeaders, e, bindingName));
                         }
                     }
                 }
@@ -296,7 +305,7 @@ public class RequestReplyMessageHeaderSupportService {
         return out;
     }
 
-    private <A, Q> List<Message<A>> wrapListSingleResponses(Message<Q> request, List<A> rawResponses, String bindingName) {
+    private <A> List<Message<A>> wrapListSingleResponses(RequestReplyHeaders request, List<A> rawResponses, String bindingName) {
         List<Message<A>> response = new ArrayList<>();
         for (int i = 0; i < rawResponses.size(); i++) {
             MessageBuilder<A> mb = MessageBuilder.withPayload(rawResponses.get(i));
@@ -307,31 +316,37 @@ public class RequestReplyMessageHeaderSupportService {
     }
 
     @SuppressWarnings("unchecked")
-    private <A, Q> List<Message<A>> wrapListGroupedResponses(Message<Q> request, List<A> rawResponses, MimeType outputContentType, String bindingName) {
-        List<Message<byte[]>> byteMessages = new ArrayList<>();
-        for (int i = 0; i < rawResponses.size(); i++) {
-            Message<?> responseAsByteMsg = messageConverter.convertMessageToBytesIfNecessary(
-                    MessageBuilder
-                            .withPayload(rawResponses.get(i))
-                            .build(),
-                    outputContentType.toString()
-            );
-
-            if (!(responseAsByteMsg.getPayload() instanceof byte[])) {
-                // A message could not be converted to byte[]:
-                return wrapListSingleResponses(request, rawResponses, bindingName);
-            }
+    private <A> List<Message<A>> wrapListGroupedResponses(RequestReplyHeaders request, List<A> rawResponses, ResponseEncoding encoding, String bindingName) {
+        ResponseGrouping grouping = grouping(bindingName);
+        int deflateMinBytes = grouping.getDeflateMinBytes(acceptsDeflate(request));
+        Iterator<Chunk<A>> chunks;
+        if (encoding.writer() != null) {
+            chunks = MessageChunker.chunks(rawResponses.iterator(), encoding.writer(), encoding.conversionPlan()::convert,
+                    encoding.contentType(), grouping.getMaxBytes(), grouping.getMaxMessages(), deflateMinBytes);
+        } else {
+            List<Message<byte[]>> byteMessages = new ArrayList<>(rawResponses.size());
+            for (int i = 0; i < rawResponses.size(); i++) {
+                Message<?> responseAsByteMsg = encoding.conversionPlan().convert(rawResponses.get(i));
+
+                if (!(responseAsByteMsg.getPayload() instanceof byte[])) {
+                    // A message could not be converted to byte[]:
+                    return wrapListSingleResponses(request, rawResponses, bindingName);
+                }
 
-            byteMessages.add((Message<byte[]>) responseAsByteMsg);
+                byteMessages.add((Message<byte[]>) responseAsByteMsg);
+            }
+            chunks = MessageChunker.chunks(byteMessages.iterator(), grouping.getMaxBytes(), grouping.getMaxMessages(), deflateMinBytes);
         }
 
         AtomicLong index = new AtomicLong(0);
         List<Message<A>> response = new ArrayList<>();
-        for (Pair<Message<byte[]>, Integer> oneMbChunk : MessageChunker.mapChunked(byteMessages, ONE_MB)) {
-            MessageBuilder<A> mb = (MessageBuilder<A>) MessageBuilder.fromMessage(oneMbChunk.getKey());
+        while (chunks.hasNext()) {
+            Chunk<A> chunk = chunks.next();
+            grouping.record(chunk);
+            MessageBuilder<A> mb = MessageBuilder.fromMessage(chunk.message());
 
-            String indexRange = index.get() + "-" + (index.addAndGet(oneMbChunk.getValue()) - 1);
-            transferAndAdoptHeaders(request, mb, byteMessages.size(), indexRange);
+            String indexRange = index.get() + "-" + (index.addAndGet(chunk.size()) - 1);
+            transferAndAdoptHeaders(request, mb, rawResponses.size(), indexRange);
             response.add(this.replyWrappingInterceptor.interceptReplyWrappingPayloadMessage(mb.build(), bindingName));
         }
 
@@ -349,7 +364,7 @@ public class RequestReplyMessageHeaderSupportService {
      * @return message with the payload function applied to the incoming message and the message headers prepared for answering
      */
     public final <Q, A> Function<Flux<Message<Q>>, Flux<Message<A>>> wrapFlux(BiConsumer<Q, FluxSink<A>> payloadFunction, String bindingName) {
-        return wrapFlux(payloadFunction, bindingName, Duration.ofMillis(200));
+        return wrapFlux(payloadFunction, bindingName, null);
     }
 
     /**
@@ -359,6 +374,9 @@ public class RequestReplyMessageHeaderSupportService {
      * @param <Q>             incoming message payload type
      * @param <A>             outgoing message payload type
      * @param payloadFunction mapping function from incoming to outgoing payload
+     * @param bindingName     the name of the output binding. Required to get configured content type, to encode message.
+     * @param groupTimeout    how long a response waits for further responses to be grouped with,
+     *                        or null for the {@code grouping.maxLinger} of the binding
      * @return message with the payload function applied to the incoming message and the message headers prepared for answering
      */
     public final <Q, A> Function<Flux<Message<Q>>, Flux<Message<A>>> wrapFlux(BiConsumer<Q, FluxSink<A>> payloadFunction, String bindingName, Duration groupTimeout) {
@@ -367,11 +385,12 @@ public class RequestReplyMessageHeaderSupportService {
                     try {
                         Flux<A> responses = Flux.create(fluxSink -> payloadFunction.accept(request.getPayload(), fluxSink));
 
+                        RequestReplyHeaders requestHeaders = resolveHeaders(request);
                         if (Boolean.TRUE.equals(request.getHeaders()
                                                        .get(SpringHeaderParser.GROUPED_MESSAGES)) && StringUtils.hasText(bindingName)) {
-                            return wrapFluxGroupedResponses(request, responses, getContentType(bindingName), groupTimeout, bindingName);
+                            return wrapFluxGroupedResponses(requestHeaders, responses, encoding(bindingName), groupTimeout, bindingName);
                         } else {
-                            return wrapFluxSingleResponses(request, responses, bindingName);
+                            return wrapFluxSingleResponses(requestHeaders, responses, bindingName);
                         }
                     }
                     catch (Exception e) {
@@ -380,7 +399,7 @@ public class RequestReplyMessageHeaderSupportService {
                 });
     }
 
-    private <Q, A> Flux<Message<A>> wrapFluxSingleResponses(Message<Q> request, Flux<A> responses, String bindingName) {
+    private <A> Flux<Message<A>> wrapFluxSingleResponses(RequestReplyHeaders request, Flux<A> responses, String bindingName) {
         AtomicLong index = new AtomicLong(0);
         return responses
                 .map(payload -> {
@@ -392,22 +411,27 @@ public class RequestReplyMessageHeaderSupportService {
                 .onErrorResume(err -> Mono.just(errorResponse(request, err, bindingName)));
     }
 
-    @SuppressWarnings("unchecked")
-    private <Q, A> Flux<Message<A>> wrapFluxGroupedResponses(Message<Q> request, Flux<A> responses, MimeType outputContentType, Duration groupTimeout, String bindingName) {
+    private <A> Flux<Message<A>> wrapFluxGroupedResponses(RequestReplyHeaders request, Flux<A> responses, ResponseEncoding encoding, Duration groupTimeout, String bindingName) {
+        ResponseGrouping grouping = grouping(bindingName);
+        int deflateMinBytes = grouping.getDeflateMinBytes(acceptsDeflate(request));
+        Duration linger = groupTimeout == null ? grouping.getMaxLinger() : groupTimeout;
+        Flux<Chunk<A>> chunks;
+        if (encoding.writer() != null) {
+            chunks = grouping.batch(responses, linger, payload -> -1)
+                    .flatMapIterable(payloads -> (Iterable<Chunk<A>>) () -> MessageChunker.chunks(payloads.iterator(), encoding.writer(),
+                            encoding.conversionPlan()::convert, encoding.contentType(), grouping.getMaxBytes(), grouping.getMaxMessages(), deflateMinBytes));
+        } else {
+            chunks = grouping.batch(responses.map(encoding.conversionPlan()::convert), linger, MessageChunker::groupedBytes)
+                    .flatMapIterable(msgs -> (Iterable<Chunk<A>>) () -> MessageChunker.chunks(msgs.iterator(), grouping.getMaxBytes(), grouping.getMaxMessages(), deflateMinBytes));
+        }
+
         AtomicLong index = new AtomicLong(0);
-        return responses
-                .map(payload -> messageConverter.convertMessageToBytesIfNecessary(
-                        MessageBuilder
-                                .withPayload(payload)
-                                .build(),
-                        outputContentType.toString()
-                ))
-                .bufferTimeout(MAX_MSG_PER_CHUNK, groupTimeout)
-                .flatMapIterable(msgs -> MessageChunker.mapChunked(msgs, ONE_MB))
-                .map(oneMbChunk -> {
-                    MessageBuilder<A> mb = (MessageBuilder<A>) MessageBuilder.fromMessage(oneMbChunk.getKey());
-
-                    String indexRange = index.get() + "-" + (index.addAndGet(oneMbChunk.getValue()) - 1);
+        return chunks
+                .map(chunk -> {
+                    grouping.record(chunk);
+                    MessageBuilder<A> mb = MessageBuilder.fromMessage(chunk.message());
+
+                    String indexRange = index.get() + "-" + (index.addAndGet(chunk.size()) - 1);
                     transferAndAdoptHeaders(request, mb, -1, indexRange);
                     return replyWrappingInterceptor.interceptReplyWrappingPayloadMessage(mb.build(), bindingName);
                 })
@@ -415,46 +439,80 @@ public class RequestReplyMessageHeaderSupportService {
                 .onErrorResume(err -> Mono.just(errorResponse(request, err, bindingName)));
     }
 
-    private MimeType getContentType(String bindingName) {
-        BindingProperties bindingProperties = this.bindingServiceProperties.getBindingProperties(bindingName);
-        return StringUtils.hasText(bindingProperties.getContentType()) ? MimeType.valueOf(bindingProperties.getContentType()) : MimeTypeUtils.APPLICATION_JSON;
+    private static boolean acceptsDeflate(RequestReplyHeaders request) {
+        Object accepted = request.getMessage().getHeaders().get(SpringHeaderParser.GROUPED_ACCEPT_COMPRESSION);
+        return accepted != null && StringUtils.commaDelimitedListToSet(accepted.toString()).contains(MessageChunker.DEFLATE);
+    }
+
+    private ResponseGrouping grouping(String bindingName) {
+        return groupings.computeIfAbsent(
+                bindingName,
+                name -> new ResponseGrouping(name, requestReplyProperties.getGrouping().getPolicy(name), registry));
+    }
+
+    private ResponseEncoding encoding(String bindingName) {
+        return encodings.computeIfAbsent(bindingName, name -> {
+            BindingProperties bindingProperties = this.bindingServiceProperties.getBindingProperties(name);
+            MimeType contentType = StringUtils.hasText(bindingProperties.getContentType()) ? MimeType.valueOf(bindingProperties.getContentType()) : MimeTypeUtils.APPLICATION_JSON;
+            ConversionPlan conversionPlan = messageConverter.plan(contentType.toString());
+            if (!Boolean.TRUE.equals(requestReplyProperties.getGrouping().getPolicy(name).getStreaming()) || responseSerializers.isEmpty()) {
+                return new ResponseEncoding(conversionPlan, contentType, null);
+            }
+            return new ResponseEncoding(conversionPlan, contentType, (payload, out) -> {
+                for (ResponseSerializer serializer : responseSerializers) {
+                    if (serializer.canSerialize(payload.getClass(), contentType)) {
+                        serializer.serialize(payload, contentType, out);
+                        return true;
+                    }
+                }
+                return false;
+            });
+        });
+    }
+
+    /**
+     * How the grouped responses of an output binding are serialized.
+     *
+     * @param writer writes responses directly into grouped messages, or null if {@code grouping.streaming} is disabled
+     */
+    private record ResponseEncoding(ConversionPlan conversionPlan, MimeType contentType, @Nullable MessageChunker.ElementWriter writer) {
     }
 
     @SuppressWarnings("unchecked")
-    private <Q, A> Message<A> emptyMsg(Message<Q> request, long totalReplies, long replyIndex, String bindingName) {
+    private <A> Message<A> emptyMsg(RequestReplyHeaders request, long totalReplies, long replyIndex, String bindingName) {
         MessageBuilder<String> mb = MessageBuilder.withPayload("");
         transferAndAdoptHeaders(request, mb, totalReplies, "" + replyIndex);
         return (Message<A>) this.replyWrappingInterceptor.interceptReplyWrappingFinishingEmptyMessage(mb.build(), bindingName);
     }
 
     @SuppressWarnings("unchecked")
-    private <Q, A> Message<A> errorResponse(Message<Q> request, Throwable e, String bindingName) {
+    private <A> Message<A> errorResponse(RequestReplyHeaders request, Throwable e, String bindingName) {
         MessageBuilder<String> mb = MessageBuilder.withPayload("");
         transferAndAdoptHeaders(request, mb, 0, "0");
         mb.setHeader(SpringHeaderParser.ERROR_MESSAGE, e.getMessage());
         return (Message<A>) this.replyWrappingInterceptor.interceptReplyWrappingErrorMessage(mb.build(), bindingName);
     }
 
-    private <Q, A> void transferAndAdoptHeaders(Message<Q> request, MessageBuilder<A> mb, long totalReplies, String replyIndex) {
+    private <A> void transferAndAdoptHeaders(RequestReplyHeaders request, MessageBuilder<A> mb, long totalReplies, String replyIndex) {
         transferAndAdoptHeaders(request, mb);
 
         mb.setHeader(SpringHeaderParser.MULTI_TOTAL_REPLIES, totalReplies);
         mb.setHeader(SpringHeaderParser.MULTI_REPLY_INDEX, replyIndex);
     }
 
-    private <Q, A> void transferAndAdoptHeaders(Message<Q> request,
-                                                MessageBuilder<A> mb) {
-        String correlationId = getCorrelationId(request);
+    private <A> void transferAndAdoptHeaders(RequestReplyHeaders request,
+                                             MessageBuilder<A> mb) {
+        String correlationId = request.getCorrelationId();
         if (correlationId != null) {
             mb.setCorrelationId(correlationId);
         }
 
-        String replyToDestination = getReplyTo(request);
+        String replyToDestination = request.getReplyTo();
         if (replyToDestination != null) {
             mb.setHeader(BinderHeaders.TARGET_DESTINATION, requestReplyProperties.replaceVariables(replyToDestination));
         }
 
-        MessageHeaders requestHeaders = request.getHeaders();
+        MessageHeaders requestHeaders = request.getMessage().getHeaders();
         for (String headerToCopy : requestReplyProperties.getCopyHeadersOnWrap()) {
             Object val = requestHeaders.get(headerToCopy);
 
@@ -0,0 +1,145 @@
+package community.solace.spring.cloud.requestreply.service.header;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import community.solace.spring.cloud.requestreply.config.GroupingCompression;
+import community.solace.spring.cloud.requestreply.config.GroupingMode;
+import community.solace.spring.cloud.requestreply.config.GroupingPolicyProperties;
+import community.solace.spring.cloud.requestreply.util.MessageChunker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+
+/**
+ * The grouping policy of one output binding, see {@code grouping}, along with the sizes it observed and its meters.
+ */
+class ResponseGrouping {
+    // Weight of the latest chunk in the average response size, which so follows changes within a few chunks.
+    private static final double AVERAGE_WEIGHT = 0.2;
+
+    private final int maxBytes;
+    private final int maxMessages;
+    private final Duration maxLinger;
+    private final GroupingMode mode;
+    private final int deflateMinBytes;
+    private final DistributionSummary chunkBytes;
+    private final DistributionSummary chunkMessages;
+    private final DistributionSummary chunkFill;
+
+    // Updated without synchronization, a lost update merely delays the adaptation.
+    private volatile double averageResponseBytes;
+
+    ResponseGrouping(String bindingName, GroupingPolicyProperties policy, MeterRegistry registry) {
+        if (policy.getMaxBytes() < 1 || policy.getMaxMessages() < 1) {
+            throw new IllegalArgumentException("grouping.maxBytes and grouping.maxMessages must be positive for binding: " + bindingName);
+        }
+
+        this.maxBytes = policy.getMaxBytes();
+        this.maxMessages = policy.getMaxMessages();
+        this.maxLinger = policy.getMaxLinger();
+        this.mode = policy.getMode();
+        this.deflateMinBytes = policy.getCompression() == GroupingCompression.DEFLATE
+                ? Math.max(1, policy.getCompressionThreshold())
+                : Integer.MAX_VALUE;
+
+        if (registry == null) {
+            this.chunkBytes = null;
+            this.chunkMessages = null;
+            this.chunkFill = null;
+        } else {
+            this.chunkBytes = DistributionSummary.builder("requestReply.grouping.chunk.size")
+                    .description("RequestReply size of grouped responses")
+                    .baseUnit("bytes")
+                    .tag("binding", bindingName)
+                    .register(registry);
+            this.chunkMessages = DistributionSummary.builder("requestReply.grouping.chunk.messages")
+                    .description("RequestReply responses per grouped response")
+                    .tag("binding", bindingName)
+                    .register(registry);
+            this.chunkFill = DistributionSummary.builder("requestReply.grouping.chunk.fill")
+                    .description("RequestReply size of grouped responses relative to grouping.maxBytes")
+                    .tag("binding", bindingName)
+                    .register(registry);
+        }
+    }
+
+    int getMaxBytes() {
+        return maxBytes;
+    }
+
+    int getMaxMessages() {
+        return maxMessages;
+    }
+
+    Duration getMaxLinger() {
+        return maxLinger;
+    }
+
+    /**
+     * @param acceptsDeflate whether the requester announced that it inflates grouped responses
+     * @return the size from which grouped responses to the requester are deflated, {@link Integer#MAX_VALUE} for never
+     */
+    int getDeflateMinBytes(boolean acceptsDeflate) {
+        return acceptsDeflate ? deflateMinBytes : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Batches the responses of one {@code wrapFlux} stream before they are chunked. A batch is complete after
+     * {@code maxMessages} responses or {@code linger}, in adaptive mode already before the response that would no
+     * longer fit into the same grouped message, so every batch is sized from the latest observations.
+     *
+     * @param responseBytes the bytes a response adds to a grouped message, negative if only known once it is written,
+     *                      in which case the average size of the responses observed on the binding is assumed
+     */
+    <T> Flux<List<T>> batch(Flux<T> responses, Duration linger, ToIntFunction<? super T> responseBytes) {
+        if (mode != GroupingMode.ADAPTIVE) {
+            return responses.bufferTimeout(maxMessages, linger);
+        }
+        return responses
+                .windowTimeout(maxMessages, linger)
+                .concatMap(window -> window.bufferUntil(new BatchBoundary<>(responseBytes), true));
+    }
+
+    void record(MessageChunker.Chunk<?> chunk) {
+        if (!chunk.isGrouped()) {
+            return;
+        }
+
+        double responseBytes = (double) chunk.bytes() / chunk.size();
+        double average = averageResponseBytes;
+        averageResponseBytes = average <= 0 ? responseBytes : average + (responseBytes - average) * AVERAGE_WEIGHT;
+
+        if (chunkBytes != null) {
+            chunkBytes.record(chunk.bytes());
+            chunkMessages.record(chunk.size());
+            chunkFill.record((double) chunk.bytes() / maxBytes);
+        }
+    }
+
+    /**
+     * Starts a new batch with the response that would make the grouped message of the current batch exceed
+     * {@code maxBytes}.
+     */
+    private final class BatchBoundary<T> implements Predicate<T> {
+        private final ToIntFunction<? super T> responseBytes;
+        private double bytes = MessageChunker.CHUNK_OVERHEAD_BYTES;
+        private boolean empty = true;
+
+        private BatchBoundary(ToIntFunction<? super T> responseBytes) {
+            this.responseBytes = responseBytes;
+        }
+
+        @Override
+        public boolean test(T response) {
+            int known = responseBytes.applyAsInt(response);
+            double size = known >= 0 ? known : averageResponseBytes;
+            boolean full = !empty && bytes + size > maxBytes;
+            bytes = (full ? MessageChunker.CHUNK_OVERHEAD_BYTES : bytes) + size;
+            empty = false;
+            return full;
+        }
+    }
+}
@@ -15,6 +15,8 @@ public class SpringHeaderParser implements MessageHeaderReplyToParser, MessageHe
     public final static String MULTI_REPLY_INDEX = "replyIndex";
     public final static String GROUPED_MESSAGES = "groupedMessages";
     public final static String GROUPED_CONTENT_TYPE = "groupedContentType";
+    public final static String GROUPED_COMPRESSION = "groupedCompression";
+    public final static String GROUPED_ACCEPT_COMPRESSION = "groupedAcceptCompression";
     public final static String ERROR_MESSAGE = "errorMessage";
 
     @Override
@@ -0,0 +1,259 @@
+package community.solace.spring.cloud.requestreply.service.limit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import community.solace.spring.cloud.requestreply.config.ConcurrencyLimitProperties;
+import community.solace.spring.cloud.requestreply.config.ConcurrencyLimitType;
+import community.solace.spring.cloud.requestreply.config.OverflowStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits the number of requests in flight on one binding, see {@code bindingMapping[].concurrencyLimit}.
+ * <p>
+ * A request acquires a {@link Permit} before it is sent and releases it once it completed, timed out or failed.
+ * Waiting for a permit never blocks a thread: a queued permit is a future that is completed by the request releasing
+ * its permit.
+ */
+public class ConcurrencyLimiter {
+    /**
+     * Limiter of bindings without a concurrency limit, which grants every permit right away.
+     */
+    public static final ConcurrencyLimiter UNLIMITED = new ConcurrencyLimiter();
+
+    // Start a new search for the lowest round trip time after this number of samples, so it follows a changing responder.
+    private static final int RTT_PROBE_INTERVAL = 1000;
+
+    private final String bindingName;
+    private final ConcurrencyLimitProperties properties;
+    private final boolean adaptive;
+    private final Deque<Permit> queue = new ArrayDeque<>();
+    private final Counter rejectedLimit;
+    private final Counter rejectedQueue;
+    private final MeterRegistry registry;
+    private final List<Gauge> gauges = new ArrayList<>();
+
+    private double limit;
+    private int inFlight;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int rttSamples;
+
+    private ConcurrencyLimiter() {
+        this.bindingName = null;
+        this.properties = null;
+        this.adaptive = false;
+        this.rejectedLimit = null;
+        this.rejectedQueue = null;
+        this.registry = null;
+    }
+
+    public ConcurrencyLimiter(String bindingName, ConcurrencyLimitProperties properties, MeterRegistry registry) {
+        if (properties.getLimit() < 1) {
+            throw new IllegalArgumentException("concurrencyLimit.limit must be positive for binding: " + bindingName);
+        }
+
+        this.bindingName = bindingName;
+        this.properties = properties;
+        this.adaptive = properties.getType() == ConcurrencyLimitType.ADAPTIVE;
+        this.limit = adaptive
+                ? Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), properties.getLimit()))
+                : properties.getLimit();
+        this.registry = registry;
+
+        if (registry == null) {
+            this.rejectedLimit = null;
+            this.rejectedQueue = null;
+        } else {
+            this.rejectedLimit = rejectedCounter(registry, "limit");
+            this.rejectedQueue = rejectedCounter(registry, "queue");
+            gauges.add(Gauge.builder("requestReply.concurrency.limit", this, ConcurrencyLimiter::getLimit)
+                    .description("RequestReply concurrency limit")
+                    .tag("binding", bindingName)
+                    .register(registry));
+            gauges.add(Gauge.builder("requestReply.concurrency.inFlight", this, ConcurrencyLimiter::getInFlight)
+                    .description("RequestReply requests holding a permit")
+                    .tag("binding", bindingName)
+                    .register(registry));
+            gauges.add(Gauge.builder("requestReply.concurrency.queued", this, ConcurrencyLimiter::getQueued)
+                    .description("RequestReply requests waiting for a permit")
+                    .tag("binding", bindingName)
+                    .register(registry));
+        }
+    }
+
+    private Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("requestReply.concurrency.rejected")
+                .description("RequestReply requests rejected by the concurrency limit")
+                .tag("binding", bindingName)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * @return a permit, which might not be granted yet if the request got queued
+     * @throws RejectedExecutionException if the limit is reached and the request can not be queued
+     */
+    public Permit acquire() {
+        if (this == UNLIMITED) {
+            return Permit.granted(this);
+        }
+
+        synchronized (this) {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return Permit.granted(this);
+            }
+
+            if (properties.getOverflow() == OverflowStrategy.QUEUE && queue.size() < properties.getMaxQueued()) {
+                Permit permit = new Permit(this);
+                queue.add(permit);
+                return permit;
+            }
+        }
+
+        if (properties.getOverflow() == OverflowStrategy.QUEUE) {
+            increment(rejectedQueue);
+            throw new RejectedExecutionException("Unable to send request: " + bindingName + " reached its concurrency limit of "
+                    + (int) limit + " and " + properties.getMaxQueued() + " queued requests");
+        }
+
+        increment(rejectedLimit);
+        throw new RejectedExecutionException("Unable to send request: " + bindingName + " reached its concurrency limit of "
+                + (int) limit + " requests in flight");
+    }
+
+    private void release(Permit permit, boolean timedOut) {
+        if (this == UNLIMITED) {
+            return;
+        }
+
+        List<Permit> granted = new ArrayList<>();
+        synchronized (this) {
+            if (permit.isReleased) {
+                return;
+            }
+            permit.isReleased = true;
+
+            if (!permit.isGranted) {
+                // Timed out while queued, it never was in flight.
+                queue.remove(permit);
+                return;
+            }
+
+            inFlight--;
+            if (adaptive) {
+                adapt(System.nanoTime() - permit.grantedAtNanos, timedOut);
+            }
+
+            // An adaptive limit may have grown by more than the released permit.
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                Permit next = queue.poll();
+                inFlight++;
+                next.grant();
+                granted.add(next);
+            }
+        }
+
+        for (Permit next : granted) {
+            // Completed outside the lock, as it sends the queued request.
+            next.future.complete(null);
+        }
+    }
+
+    private void adapt(long rttNanos, boolean timedOut) {
+        if (++rttSamples >= RTT_PROBE_INTERVAL) {
+            rttSamples = 0;
+            minRttNanos = Long.MAX_VALUE;
+        }
+
+        if (!timedOut) {
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+        }
+
+        if (timedOut || rttNanos > minRttNanos * properties.getRttTolerance()) {
+            limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+        } else if (inFlight + 1 >= limit / 2) {
+            // Only grow while the limit is actually used, otherwise it would drift up without evidence.
+            limit = Math.min(properties.getMaxLimit(), limit + 1);
+        }
+    }
+
+    /**
+     * Removes the gauges of this instance, so that the limiter replacing it when the binding mapping is bound again
+     * can register its own.
+     */
+    public void removeGauges() {
+        if (registry != null) {
+            gauges.forEach(registry::remove);
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    public synchronized int getLimit() {
+        return this == UNLIMITED ? Integer.MAX_VALUE : (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Right to have one request in flight.
+     */
+    public static final class Permit {
+        private final ConcurrencyLimiter limiter;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        // Guarded by the limiter.
+        private boolean isGranted;
+        private boolean isReleased;
+        private long grantedAtNanos;
+
+        private Permit(ConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        private static Permit granted(ConcurrencyLimiter limiter) {
+            Permit permit = new Permit(limiter);
+            permit.grant();
+            permit.future.complete(null);
+            return permit;
+        }
+
+        private void grant() {
+            isGranted = true;
+            grantedAtNanos = System.nanoTime();
+        }
+
+        /**
+         * @return a future that completes once the request may be sent
+         */
+        public CompletableFuture<Void> future() {
+            return future;
+        }
+
+        /**
+         * Releases the permit, or removes it from the queue if it was not granted yet. Subsequent calls are ignored.
+         *
+         * @param timedOut whether the request timed out, which an adaptive limit takes as a sign of congestion
+         */
+        public void release(boolean timedOut) {
+            limiter.release(this, timedOut);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package community.solace.spring.cloud.requestreply.service.registry;
+
+import java.util.Map;
+
+import community.solace.spring.cloud.requestreply.service.ResponseHandler;
+
+/**
+ * Keeps track of the requests that await their reply, keyed by binding and correlation id.
+ * Use this interface by creating a bean that implements it, to replace the default {@link ShardedPendingResponseRegistry}.
+ * <p>
+ * Implementations must be thread safe: requests are registered by the requesting threads,
+ * while replies are looked up by the reply consumer threads of every binding.
+ */
+public interface PendingResponseRegistry {
+    /**
+     * @param bindingName   the binding the request is sent on
+     * @param correlationId the correlation id of the request
+     * @param handler       the handler that collects the replies
+     * @return {@code false} if a handler is already registered for this correlation id
+     * @throws IllegalStateException if the binding has reached its maximum number of pending requests
+     */
+    boolean register(String bindingName, String correlationId, ResponseHandler handler);
+
+    /**
+     * @param bindingName   the binding the reply was received on, or {@code null} if unknown
+     * @param correlationId the correlation id of the reply
+     * @return the handler awaiting the reply or {@code null} if none (anymore)
+     */
+    ResponseHandler get(String bindingName, String correlationId);
+
+    /**
+     * Removes the handler, if it is still registered for the given correlation id.
+     */
+    void remove(String bindingName, String correlationId, ResponseHandler handler);
+
+    /**
+     * @return the number of pending requests of all bindings
+     */
+    int size();
+
+    /**
+     * @return statistics per binding
+     */
+    Map<String, PartitionStats> stats();
+
+    /**
+     * Statistics of the pending requests of one binding.
+     *
+     * @param pending    number of requests that currently await their reply
+     * @param registered number of requests registered since start
+     * @param rejected   number of requests rejected since start, as the binding reached its maximum of pending requests
+     * @param maxPending highest number of pending requests observed since start
+     */
+    record PartitionStats(int pending, long registered, long rejected, int maxPending) {
+    }
+}
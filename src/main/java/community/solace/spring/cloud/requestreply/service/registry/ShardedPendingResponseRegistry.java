@@ -0,0 +1,144 @@
+package community.solace.spring.cloud.requestreply.service.registry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import community.solace.spring.cloud.requestreply.config.PendingResponsesProperties;
+import community.solace.spring.cloud.requestreply.service.ResponseHandler;
+
+/**
+ * Default {@link PendingResponseRegistry}: one partition per binding, each split into shards by correlation id hash.
+ * <p>
+ * Bindings never contend with each other, and a shard only grows to a fraction of the partition,
+ * which keeps resizing pauses short when many requests are in flight.
+ */
+public class ShardedPendingResponseRegistry implements PendingResponseRegistry {
+    private final int shards;
+    private final int initialCapacityPerShard;
+    private final int maxPendingPerBinding;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    public ShardedPendingResponseRegistry(PendingResponsesProperties properties) {
+        if (properties.getShards() < 1) {
+            throw new IllegalArgumentException("spring.cloud.stream.requestreply.pendingResponses.shards must be positive but was: " + properties.getShards());
+        }
+
+        int shardCount = 1;
+        while (shardCount < properties.getShards()) {
+            shardCount <<= 1;
+        }
+        this.shards = shardCount;
+        this.initialCapacityPerShard = Math.max(16, properties.getInitialCapacity() / shardCount);
+        this.maxPendingPerBinding = properties.getMaxPendingPerBinding();
+    }
+
+    @Override
+    public boolean register(String bindingName, String correlationId, ResponseHandler handler) {
+        return partitions.computeIfAbsent(bindingName, bn -> new Partition()).register(bindingName, correlationId, handler);
+    }
+
+    @Override
+    public ResponseHandler get(String bindingName, String correlationId) {
+        if (bindingName != null) {
+            Partition partition = partitions.get(bindingName);
+            ResponseHandler handler = partition == null ? null : partition.get(correlationId);
+            if (handler != null) {
+                return handler;
+            }
+        }
+
+        // Unknown binding or the reply arrived on another binding than the request was sent on.
+        for (Partition partition : partitions.values()) {
+            ResponseHandler handler = partition.get(correlationId);
+            if (handler != null) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void remove(String bindingName, String correlationId, ResponseHandler handler) {
+        Partition partition = partitions.get(bindingName);
+        if (partition != null) {
+            partition.remove(correlationId, handler);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Partition partition : partitions.values()) {
+            size += partition.pending.get();
+        }
+        return size;
+    }
+
+    @Override
+    public Map<String, PartitionStats> stats() {
+        Map<String, PartitionStats> stats = new LinkedHashMap<>();
+        partitions.forEach((bindingName, partition) -> stats.put(bindingName, partition.stats()));
+        return stats;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class Partition {
+        private final Map<String, ResponseHandler>[] shardMaps;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger maxPending = new AtomicInteger();
+        private final LongAdder registered = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        @SuppressWarnings("unchecked")
+        Partition() {
+            shardMaps = new Map[shards];
+            for (int i = 0; i < shards; i++) {
+                shardMaps[i] = new ConcurrentHashMap<>(initialCapacityPerShard);
+            }
+        }
+
+        boolean register(String bindingName, String correlationId, ResponseHandler handler) {
+            int current = pending.incrementAndGet();
+            if (maxPendingPerBinding > 0 && current > maxPendingPerBinding) {
+                pending.decrementAndGet();
+                rejected.increment();
+                throw new IllegalStateException("Unable to send request: " + bindingName + " reached its maximum of "
+                        + maxPendingPerBinding + " pending requests. "
+                        + "Please check spring.cloud.stream.requestreply.pendingResponses.maxPendingPerBinding");
+            }
+
+            if (shard(correlationId).putIfAbsent(correlationId, handler) != null) {
+                pending.decrementAndGet();
+                return false;
+            }
+
+            registered.increment();
+            maxPending.accumulateAndGet(current, Math::max);
+            return true;
+        }
+
+        ResponseHandler get(String correlationId) {
+            return shard(correlationId).get(correlationId);
+        }
+
+        void remove(String correlationId, ResponseHandler handler) {
+            if (shard(correlationId).remove(correlationId, handler)) {
+                pending.decrementAndGet();
+            }
+        }
+
+        PartitionStats stats() {
+            return new PartitionStats(pending.get(), registered.sum(), rejected.sum(), maxPending.get());
+        }
+
+        private Map<String, ResponseHandler> shard(String correlationId) {
+            return shardMaps[spread(correlationId.hashCode()) & (shards - 1)];
+        }
+    }
+}
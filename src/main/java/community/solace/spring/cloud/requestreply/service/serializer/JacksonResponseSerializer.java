@@ -0,0 +1,35 @@
+package community.solace.spring.cloud.requestreply.service.serializer;
+
+import java.io.OutputStream;
+
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import org.springframework.util.MimeType;
+
+/**
+ * Writes responses as JSON with the streaming generator of Jackson, directly into the grouped message.
+ * <p>
+ * Strings and byte arrays are left to the message converters, which pass them on as they are rather than as JSON.
+ */
+public class JacksonResponseSerializer implements ResponseSerializer {
+    private final ObjectWriter writer;
+
+    public JacksonResponseSerializer(ObjectMapper mapper) {
+        this.writer = mapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public boolean canSerialize(Class<?> payloadType, MimeType contentType) {
+        if (payloadType == byte[].class || CharSequence.class.isAssignableFrom(payloadType)) {
+            return false;
+        }
+        return "json".equals(contentType.getSubtype()) || "json".equals(contentType.getSubtypeSuffix());
+    }
+
+    @Override
+    public void serialize(Object payload, MimeType contentType, OutputStream out) {
+        writer.writeValue(out, payload);
+    }
+}
@@ -0,0 +1,27 @@
+package community.solace.spring.cloud.requestreply.service.serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.util.MimeType;
+
+/**
+ * Serializes responses directly into grouped messages, for output bindings with {@code grouping.streaming} enabled.
+ * Use this interface by creating beans that implement it, they are asked in order and the first one supporting
+ * a response serializes it. Responses none of them supports are converted by the message converters.
+ */
+public interface ResponseSerializer {
+    /**
+     * @param payloadType the type of the response
+     * @param contentType the content type of the output binding
+     * @return whether responses of the type are serialized to the content type, called for each response
+     */
+    boolean canSerialize(Class<?> payloadType, MimeType contentType);
+
+    /**
+     * @param payload     the response
+     * @param contentType the content type of the output binding
+     * @param out         the buffer of the grouped message, not to be closed
+     */
+    void serialize(Object payload, MimeType contentType, OutputStream out) throws IOException;
+}
@@ -0,0 +1,289 @@
+package community.solace.spring.cloud.requestreply.util;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timer optimized for a large number of short-lived timeouts that are mostly cancelled before they expire,
+ * as is the case for pending requests.
+ * <p>
+ * Timeouts are kept in a wheel of buckets that a single worker thread advances once per tick, so scheduling and
+ * cancelling are O(1) and the timeout fires with an accuracy of one tick. Threads that schedule or cancel a timeout
+ * only enqueue it, the buckets themselves are touched by the worker thread only.
+ */
+public class HashedWheelTimer {
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimer.class);
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_STOPPED = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Thread worker;
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * @param threadName    name of the worker thread
+     * @param tickDuration  resolution of the timer
+     * @param ticksPerWheel number of buckets, rounded up to the next power of two
+     */
+    public HashedWheelTimer(String threadName, Duration tickDuration, int ticksPerWheel) {
+        if (tickDuration.toMillis() < 1) {
+            throw new IllegalArgumentException("tickDuration must be at least 1ms but was: " + tickDuration);
+        }
+        if (ticksPerWheel < 1 || ticksPerWheel > 1 << 20) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^20 but was: " + ticksPerWheel);
+        }
+
+        this.tickNanos = tickDuration.toNanos();
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Schedules the given task to run on the timer thread once the delay elapsed.
+     * The task must be short and must not block, as it delays every other timeout of the wheel.
+     *
+     * @return a handle to cancel the timeout
+     */
+    public Timeout newTimeout(Runnable task, Duration delay) {
+        start();
+
+        Timeout timeout = new Timeout(this, task, System.nanoTime() + delay.toNanos());
+        pendingTimeouts.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return the number of timeouts that are neither expired nor cancelled yet
+     */
+    public long pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Stops the worker thread. Timeouts that did not fire yet are discarded.
+     */
+    public void stop() {
+        if (state.getAndSet(STATE_STOPPED) == STATE_STARTED) {
+            worker.interrupt();
+        }
+    }
+
+    private void start() {
+        if (state.get() == STATE_INIT && state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+            startTime = System.nanoTime();
+            worker.start();
+        } else if (state.get() == STATE_STOPPED) {
+            throw new IllegalStateException("Timer " + worker.getName() + " is already stopped");
+        }
+    }
+
+    private void run() {
+        while (state.get() == STATE_STARTED) {
+            long deadline = awaitNextTick();
+            if (deadline < 0) {
+                break;
+            }
+
+            processCancellations();
+            transferAdditions();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    /**
+     * @return the elapsed time since start in nanos, or -1 when the timer got stopped
+     */
+    private long awaitNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepNanos = deadline - currentTime;
+            if (sleepNanos <= 0) {
+                return currentTime;
+            }
+
+            LockSupport.parkNanos(this, sleepNanos);
+            if (Thread.interrupted() || state.get() != STATE_STARTED) {
+                return -1;
+            }
+        }
+    }
+
+    private void processCancellations() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = additions.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state.get() != Timeout.ST_PENDING) {
+                continue;
+            }
+
+            long calculated = Math.max(0, timeout.deadline - startTime) / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            wheel[(int) (Math.max(calculated, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+        private static final int ST_PENDING = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_PENDING);
+
+        // Only accessed by the worker thread.
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return {@code true} if the task will not run anymore due to this call,
+         * {@code false} if it already ran or was cancelled before
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_PENDING, ST_CANCELLED)) {
+                return false;
+            }
+
+            timer.pendingTimeouts.decrementAndGet();
+            timer.cancellations.add(this);
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_PENDING, ST_EXPIRED)) {
+                return;
+            }
+
+            timer.pendingTimeouts.decrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Timeout task threw an exception", e);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts that fall into the same slot of the wheel.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long currentTime) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline - timeout.timer.startTime <= currentTime) {
+                        timeout.expire();
+                    } else {
+                        // Added to the wrong slot, which only happens if the tick was late. Retry on the next round.
+                        timeout.timer.additions.add(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -1,31 +1,61 @@
 package community.solace.spring.cloud.requestreply.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import community.solace.spring.cloud.requestreply.service.header.parser.SpringHeaderParser;
 import com.solacesystems.jcsmp.SDTStream;
 import com.solacesystems.jcsmp.impl.sdt.StreamImpl;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
 import org.springframework.cloud.function.context.FunctionProperties;
-import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.GenericMessage;
 
 public final class MessageChunker {
+    /**
+     * SDT element type of a deflated sequence of length-prefixed {@code byte[]} messages.
+     */
+    public static final String DEFLATED_BYTES_MESSAGES = "DeflatedBytesMessages";
+    public static final String DEFLATE = "deflate";
 
+    // Upper bound of what SDT adds per element (the type string and the length prefixes) and per stream.
+    static final int ELEMENT_OVERHEAD_BYTES = 32;
+    public static final int CHUNK_OVERHEAD_BYTES = 16;
+
+    private MessageChunker() {
+    }
+
+    /**
+     * Groups the messages into chunks of at most {@code maxBytes}, falling back to one message per chunk if any
+     * payload is no {@code byte[]}.
+     *
+     * @see #chunks(Iterator, int)
+     */
     @SuppressWarnings("unchecked")
     public static <T> List<Pair<Message<T>, Integer>> mapChunked(List<Message<T>> messages, int maxBytes) {
-        List<Pair<Message<T>, Integer>> msgs = new ArrayList<>();
-
-        int currentBytes = 0;
-        int currentMsgs = 0;
-        SDTStream body = new StreamImpl();
         for (Message<?> message : messages) {
             if (!(message.getPayload() instanceof byte[])) {
                 // this message was unable to be converted
@@ -33,49 +63,436 @@ public final class MessageChunker {
                         .map(msg -> Pair.of(msg, 1))
                         .collect(Collectors.toList());
             }
+        }
+
+        List<Pair<Message<T>, Integer>> msgs = new ArrayList<>();
+        Iterator<Chunk<T>> chunks = chunks(messages.iterator(), maxBytes);
+        while (chunks.hasNext()) {
+            Chunk<T> chunk = chunks.next();
+            msgs.add(Pair.of(chunk.message(), chunk.size()));
+        }
+        return msgs;
+    }
+
+    /**
+     * Groups consecutive {@code byte[]} messages into {@link SDTStream} messages, each chunk being built only when it
+     * is asked for, so the messages may be produced while the chunks are sent.
+     * <p>
+     * A chunk is closed before the next message would make it exceed {@code maxBytes}, counting the SDT overhead of
+     * each element, so chunks never exceed it. Only a single message larger than {@code maxBytes} is sent as a chunk
+     * of its own, as it cannot be split. Messages whose payload is no {@code byte[]} are passed on as they are,
+     * as a chunk of one. All chunks with the same content type are built from one header template, each of them gets
+     * its own id and timestamp though.
+     *
+     * @param messages the messages to group, consumed as the chunks are iterated
+     * @param maxBytes the maximum size of a chunk
+     * @return the chunks, each with the number of messages it contains
+     */
+    public static <T> Iterator<Chunk<T>> chunks(Iterator<? extends Message<?>> messages, int maxBytes) {
+        return chunks(messages, maxBytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxMessages the maximum number of messages per chunk
+     * @see #chunks(Iterator, int)
+     */
+    public static <T> Iterator<Chunk<T>> chunks(Iterator<? extends Message<?>> messages, int maxBytes, int maxMessages) {
+        return chunks(messages, maxBytes, maxMessages, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param deflateMinBytes chunks of at least this size are sent as a single deflated element, flagged by the
+     *                        {@link SpringHeaderParser#GROUPED_COMPRESSION} header, if that makes them smaller.
+     *                        {@link Integer#MAX_VALUE} never deflates, which requesters without support for it need.
+     * @see #chunks(Iterator, int, int)
+     */
+    public static <T> Iterator<Chunk<T>> chunks(Iterator<? extends Message<?>> messages, int maxBytes, int maxMessages, int deflateMinBytes) {
+        return new ChunkIterator<>(messages, maxBytes, Math.max(1, maxMessages), deflateMinBytes);
+    }
+
+    /**
+     * @return the bytes the message adds to a chunk, or {@code -1} if its payload is no {@code byte[]}
+     */
+    public static int groupedBytes(Message<?> message) {
+        return message.getPayload() instanceof byte[] payload ? encodedSize(payload.length) : -1;
+    }
+
+    /**
+     * A grouped message along with the number of messages it contains.
+     *
+     * @param bytes the size of the grouped message including the SDT overhead before it was deflated,
+     *              or {@code 0} for a message passed on as it is
+     */
+    public record Chunk<T>(Message<T> message, int size, int bytes) {
+        /**
+         * @return whether the message is a grouped message
+         */
+        public boolean isGrouped() {
+            return bytes > 0;
+        }
+    }
+
+    /**
+     * Groups payloads as {@link #chunks(Iterator, int, int, int)} does, serializing them directly into one buffer
+     * reused for all chunks instead of converting each of them to a {@code byte[]} first. The SDT stream of a chunk is
+     * written from that buffer.
+     *
+     * @param payloads    the payloads to group, consumed as the chunks are iterated
+     * @param writer      writes the payloads it supports
+     * @param converter   converts the payloads the writer does not support, those not converted to a {@code byte[]}
+     *                    are passed on as they are, as a chunk of one
+     * @param contentType the content type of the payloads written by the writer
+     * @see #chunks(Iterator, int, int, int)
+     */
+    public static <T> Iterator<Chunk<T>> chunks(Iterator<?> payloads, ElementWriter writer, Function<Object, ? extends Message<?>> converter,
+                                                Object contentType, int maxBytes, int maxMessages, int deflateMinBytes) {
+        return new SerializingChunkIterator<>(payloads, writer, converter, contentType, maxBytes, Math.max(1, maxMessages), deflateMinBytes);
+    }
+
+    /**
+     * Writes payloads directly into the buffer of a grouped message.
+     */
+    @FunctionalInterface
+    public interface ElementWriter {
+        /**
+         * @param payload the payload to write
+         * @param out     the buffer of the grouped message, not to be closed
+         * @return whether the payload was written, if not nothing must have been written
+         */
+        boolean write(Object payload, OutputStream out) throws IOException;
+    }
+
+    private static final class ChunkIterator<T> implements Iterator<Chunk<T>> {
+        private final Iterator<? extends Message<?>> messages;
+        private final int maxBytes;
+        private final int maxMessages;
+        private final int deflateMinBytes;
+        private final Elements elements = new Elements(null);
+        private final Templates templates = new Templates();
+        private Message<?> next;
+
+        private ChunkIterator(Iterator<? extends Message<?>> messages, int maxBytes, int maxMessages, int deflateMinBytes) {
+            this.messages = messages;
+            this.maxBytes = maxBytes;
+            this.maxMessages = maxMessages;
+            this.deflateMinBytes = deflateMinBytes;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null || messages.hasNext();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Chunk<T> next() {
+            Message<?> first = poll();
+            if (!(first.getPayload() instanceof byte[] firstPayload)) {
+                return new Chunk<>((Message<T>) first, 1, 0);
+            }
 
-            currentBytes += ((byte[]) message.getPayload()).length;
-            currentMsgs++;
+            elements.add(firstPayload, 0, firstPayload.length);
+            int bytes = CHUNK_OVERHEAD_BYTES + encodedSize(firstPayload.length);
 
-            body.writeString("BytesMessage");
-            body.writeBytes((byte[]) message.getPayload());
+            while (elements.size() < maxMessages && hasNext()) {
+                Message<?> message = peek();
+                if (!(message.getPayload() instanceof byte[] payload) || bytes + encodedSize(payload.length) > maxBytes) {
+                    break;
+                }
+                poll();
+                bytes += encodedSize(payload.length);
+                elements.add(payload, 0, payload.length);
+            }
 
-            if (currentBytes > maxBytes) {
-                msgs.add(Pair.of(
-                        (Message<T>) createSDTStreamMessage(body, message.getHeaders()),
-                        currentMsgs
-                ));
+            return elements.toChunk(bytes, deflateMinBytes, templates.get(first.getHeaders()));
+        }
 
-                currentBytes = 0;
-                currentMsgs = 0;
-                body = new StreamImpl();
+        private Message<?> peek() {
+            if (next == null) {
+                next = messages.next();
             }
+            return next;
         }
 
-        if (currentBytes > 0) {
-            msgs.add(Pair.of(
-                    (Message<T>) createSDTStreamMessage(body, messages.get(messages.size() - 1).getHeaders()),
-                    currentMsgs
-            ));
+        private Message<?> poll() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Message<?> message = peek();
+            next = null;
+            return message;
         }
+    }
 
-        return msgs;
+    private static final class SerializingChunkIterator<T> implements Iterator<Chunk<T>> {
+        private final Iterator<?> payloads;
+        private final ElementWriter writer;
+        private final Function<Object, ? extends Message<?>> converter;
+        private final MessageHeaders writtenHeaders;
+        private final int maxBytes;
+        private final int maxMessages;
+        private final int deflateMinBytes;
+        private final ChunkBuffer buffer = new ChunkBuffer();
+        private final Elements elements = new Elements(buffer);
+        private final Templates templates = new Templates();
+
+        // The element read last but not yet added to a chunk: either written to the buffer (pendingMessage is null)
+        // or converted, to a byte[] or not.
+        private Message<?> pendingMessage;
+        private int pendingOffset = -1;
+        private int pendingLength;
+
+        private SerializingChunkIterator(Iterator<?> payloads, ElementWriter writer, Function<Object, ? extends Message<?>> converter,
+                                         Object contentType, int maxBytes, int maxMessages, int deflateMinBytes) {
+            this.payloads = payloads;
+            this.writer = writer;
+            this.converter = converter;
+            // As a String, like the content type of a converted message, so that groupedContentType is written as one.
+            this.writtenHeaders = new MessageHeaders(contentType == null ? Map.of() : Map.of(MessageHeaders.CONTENT_TYPE, contentType.toString()));
+            this.maxBytes = maxBytes;
+            this.maxMessages = maxMessages;
+            this.deflateMinBytes = deflateMinBytes;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return isPending() || payloads.hasNext();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Chunk<T> next() {
+            if (isPending() && pendingMessage == null) {
+                // move the element that did not fit into the chunk before to the start of the buffer
+                buffer.retain(pendingOffset, pendingLength);
+                pendingOffset = 0;
+            } else {
+                buffer.reset();
+                if (!isPending()) {
+                    if (!payloads.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    read();
+                }
+            }
+
+            Message<?> first = pendingMessage;
+            if (first != null && !(first.getPayload() instanceof byte[])) {
+                clearPending();
+                return new Chunk<>((Message<T>) first, 1, 0);
+            }
+            int bytes = CHUNK_OVERHEAD_BYTES + encodedSize(pendingLength);
+            addPending();
+
+            while (elements.size() < maxMessages && payloads.hasNext()) {
+                read();
+                if ((pendingMessage != null && !(pendingMessage.getPayload() instanceof byte[])) ||
+                        bytes + encodedSize(pendingLength) > maxBytes) {
+                    break;
+                }
+                bytes += encodedSize(pendingLength);
+                addPending();
+            }
+
+            return elements.toChunk(bytes, deflateMinBytes, templates.get(first == null ? writtenHeaders : first.getHeaders()));
+        }
+
+        private void read() {
+            Object payload = payloads.next();
+            int offset = buffer.size();
+            try {
+                if (writer.write(payload, buffer)) {
+                    pendingMessage = null;
+                    pendingOffset = offset;
+                    pendingLength = buffer.size() - offset;
+                    return;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            pendingMessage = converter.apply(payload);
+            pendingOffset = 0;
+            pendingLength = pendingMessage.getPayload() instanceof byte[] bytes ? bytes.length : 0;
+        }
+
+        private void addPending() {
+            elements.add(pendingMessage == null ? null : (byte[]) pendingMessage.getPayload(), pendingOffset, pendingLength);
+            clearPending();
+        }
+
+        private boolean isPending() {
+            return pendingMessage != null || pendingOffset >= 0;
+        }
+
+        private void clearPending() {
+            pendingMessage = null;
+            pendingOffset = -1;
+            pendingLength = 0;
+        }
+    }
+
+    private static int encodedSize(int payloadBytes) {
+        return payloadBytes + ELEMENT_OVERHEAD_BYTES;
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} exposing its buffer, so the elements written to it need not be copied out.
+     */
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+        private ChunkBuffer() {
+            super(8192);
+        }
+
+        private byte[] array() {
+            return buf;
+        }
+
+        private void retain(int offset, int length) {
+            System.arraycopy(buf, offset, buf, 0, length);
+            count = length;
+        }
+    }
+
+    /**
+     * The elements of the chunk being built, each a slice of its own array or, if that is null, of the chunk buffer.
+     */
+    private static final class Elements {
+        private final ChunkBuffer buffer;
+        private byte[][] arrays = new byte[16][];
+        private int[] offsets = new int[16];
+        private int[] lengths = new int[16];
+        private int size;
+
+        private Elements(ChunkBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void add(byte[] array, int offset, int length) {
+            if (size == arrays.length) {
+                arrays = Arrays.copyOf(arrays, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            arrays[size] = array;
+            offsets[size] = offset;
+            lengths[size] = length;
+            size++;
+        }
+
+        private byte[] array(int index) {
+            return arrays[index] != null ? arrays[index] : buffer.array();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Chunk<T> toChunk(int bytes, int deflateMinBytes, Templates.Template template) {
+            int count = size;
+            byte[] deflated = bytes >= deflateMinBytes ? deflate(bytes) : null;
+            SDTStream body = new StreamImpl();
+            if (deflated != null) {
+                body.writeString(DEFLATED_BYTES_MESSAGES);
+                body.writeBytes(deflated);
+            } else {
+                for (int i = 0; i < size; i++) {
+                    body.writeString("BytesMessage");
+                    body.writeBytes(array(i), offsets[i], lengths[i]);
+                }
+            }
+            Arrays.fill(arrays, 0, size, null);
+            size = 0;
+
+            // A MessageHeaders per chunk, so that every chunk gets its own id and timestamp.
+            return new Chunk<>((Message<T>) new GenericMessage<>(body, deflated != null ? template.deflated() : template.plain()), count, bytes);
+        }
+
+        /**
+         * @return the elements deflated as a sequence of length-prefixed byte arrays,
+         * or {@code null} if that is not smaller than their SDT encoding
+         */
+        private byte[] deflate(int encodedBytes) {
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(encodedBytes / 4);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(deflated, deflater))) {
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(lengths[i]);
+                    out.write(array(i), offsets[i], lengths[i]);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                deflater.end();
+            }
+            return deflated.size() + CHUNK_OVERHEAD_BYTES + ELEMENT_OVERHEAD_BYTES < encodedBytes ? deflated.toByteArray() : null;
+        }
+    }
+
+    /**
+     * The header templates of the chunks, one shared by all chunks with the same content type.
+     * Kept as plain maps, as a {@link MessageHeaders} instance would also share its id and timestamp.
+     */
+    private static final class Templates {
+        private Object contentType;
+        private Template template;
+
+        private Template get(MessageHeaders messageHeaders) {
+            Object messageContentType = messageHeaders.get(MessageHeaders.CONTENT_TYPE);
+            if (template == null || !Objects.equals(messageContentType, contentType)) {
+                Map<String, Object> plain = createTemplate(messageHeaders);
+                Map<String, Object> deflated = new HashMap<>(plain);
+                deflated.put(SpringHeaderParser.GROUPED_COMPRESSION, DEFLATE);
+                template = new Template(Collections.unmodifiableMap(plain), Collections.unmodifiableMap(deflated));
+                contentType = messageContentType;
+            }
+            return template;
+        }
+
+        private record Template(Map<String, Object> plain, Map<String, Object> deflated) {
+        }
+    }
+
+    /**
+     * Inflates an element written for {@link #DEFLATED_BYTES_MESSAGES}, handing each payload to the consumer as it is read.
+     */
+    public static void inflate(byte[] deflated, Consumer<byte[]> payloads) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(deflated)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length < 0) {
+                    throw new IOException("Invalid payload length " + length + " in " + DEFLATED_BYTES_MESSAGES);
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                payloads.accept(payload);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    private static Message<SDTStream> createSDTStreamMessage(SDTStream body, MessageHeaders messageHeaders) {
+    private static Map<String, Object> createTemplate(MessageHeaders messageHeaders) {
         Map<String, Object> msgHeader = new HashMap<>(messageHeaders);
         // protect against spring want to encode message.
-        if (StringUtils.isNotEmpty((String) msgHeader.get(MessageHeaders.CONTENT_TYPE))) {
-            msgHeader.put(SpringHeaderParser.GROUPED_CONTENT_TYPE, msgHeader.get(MessageHeaders.CONTENT_TYPE));
+        Object contentType = msgHeader.get(MessageHeaders.CONTENT_TYPE);
+        if (contentType != null && !contentType.toString().isEmpty()) {
+            msgHeader.put(SpringHeaderParser.GROUPED_CONTENT_TYPE, contentType);
             msgHeader.remove(MessageHeaders.CONTENT_TYPE);
         }
         // Enforce spring no to encode with for example jackson.
         msgHeader.put(FunctionProperties.EXPECT_CONTENT_TYPE_HEADER, "");
         msgHeader.put(SpringHeaderParser.GROUPED_MESSAGES, true);
+        // Generated for every chunk by its MessageHeaders.
+        msgHeader.remove(MessageHeaders.ID);
+        msgHeader.remove(MessageHeaders.TIMESTAMP);
 
-        return MessageBuilder
-                .withPayload(body)
-                .copyHeaders(msgHeader)
-                .build();
+        return msgHeader;
     }
 }
@@ -0,0 +1,80 @@
+package community.solace.spring.cloud.requestreply.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import community.solace.spring.cloud.requestreply.config.ExecutorProperties;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Creates the executor used to send requests, according to {@code spring.cloud.stream.requestreply.executor}.
+ */
+public final class RequestReplyExecutors {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestReplyExecutors.class);
+    private static final String THREAD_NAME_PREFIX = "requestReply-";
+
+    private RequestReplyExecutors() {
+        // static methods only
+    }
+
+    /**
+     * @param properties the executor configuration
+     * @return an executor that propagates the micrometer context of the submitting thread to its tasks
+     */
+    public static ExecutorService create(ExecutorProperties properties) {
+        return ContextExecutorService.wrap(createDelegate(properties), ContextSnapshotFactory.builder().build());
+    }
+
+    static ExecutorService createDelegate(ExecutorProperties properties) {
+        return switch (properties.getType()) {
+            case VIRTUAL -> createVirtualThreadPerTask();
+            case BOUNDED -> createBounded(properties.getMaxThreads(), properties.getQueueCapacity());
+            case CACHED -> createCached();
+        };
+    }
+
+    private static ExecutorService createCached() {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+    }
+
+    private static ExecutorService createBounded(int maxThreads, int queueCapacity) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("spring.cloud.stream.requestreply.executor.maxThreads must be positive but was: " + maxThreads);
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads,
+                60L, TimeUnit.SECONDS,
+                queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService createVirtualThreadPerTask() {
+        try {
+            ThreadFactory virtualThreadFactory = new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX).getVirtualThreadFactory();
+            // Executors.newThreadPerTaskExecutor is Java 21+, while this library still compiles against Java 17.
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, virtualThreadFactory);
+        } catch (UnsupportedOperationException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            LOG.warn("Virtual threads are not available on Java {}, falling back to a cached thread pool", Runtime.version().feature());
+            return createCached();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestReplyPropertiesTest {
+
+    @Test
+    void getBindingMapping_shouldReturnFirstMappingOfBinding() {
+        BinderMappings first = mapping("a", "reply/a/first", "topic/a/.*");
+        BinderMappings second = mapping("a", "reply/a/second", "topic/b/.*");
+        BinderMappings other = mapping("b", "reply/b", "topic/.*");
+
+        RequestReplyProperties properties = new RequestReplyProperties();
+        properties.setBindingMapping(List.of(first, second, other));
+
+        assertSame(first, properties.getBindingMapping("a").orElseThrow());
+        assertSame(other, properties.getBindingMapping("b").orElseThrow());
+        assertEquals(Optional.empty(), properties.getBindingMapping("c"));
+        assertEquals(Optional.empty(), properties.getBindingMapping(null));
+        assertEquals(Set.of("a", "b"), properties.getBindingMappingNames());
+        assertThrows(UnsupportedOperationException.class, () -> properties.getBindingMappingNames().add("c"));
+        assertEquals("a-out-0", first.getOutputBindingName());
+    }
+
+    @Test
+    void setBindingMapping_shouldReplaceIndex_whenBoundAgain() {
+        RequestReplyProperties properties = new RequestReplyProperties();
+        properties.setBindingMapping(List.of(mapping("a", "reply/a", "topic/a/.*")));
+        assertEquals(Optional.of("a"), properties.findMatchingBinder("topic/a/x"));
+
+        BinderMappings refreshed = mapping("b", "reply/b", "topic/a/.*");
+        properties.setBindingMapping(List.of(refreshed));
+
+        assertEquals(Optional.empty(), properties.getBindingMapping("a"));
+        assertSame(refreshed, properties.getBindingMapping("b").orElseThrow());
+        assertEquals(Set.of("b"), properties.getBindingMappingNames());
+        assertEquals(Optional.of("b"), properties.findMatchingBinder("topic/a/x"));
+    }
+
+    @Test
+    void getBindingMapping_shouldRebuildIndex_whenIndexOfReplacedMappingsWasStored() {
+        RequestReplyProperties properties = new RequestReplyProperties();
+        properties.setBindingMapping(List.of(mapping("a", "reply/a", "topic/a/.*")));
+        properties.getBindingMapping("a");
+        Object stale = ReflectionTestUtils.getField(properties, "bindingMappingIndex");
+
+        BinderMappings refreshed = mapping("b", "reply/b", "topic/a/.*");
+        properties.setBindingMapping(List.of(refreshed));
+        // As stored by a reader that built the index from the old mappings while they were replaced.
+        ReflectionTestUtils.setField(properties, "bindingMappingIndex", stale);
+
+        assertEquals(Optional.empty(), properties.getBindingMapping("a"));
+        assertSame(refreshed, properties.getBindingMapping("b").orElseThrow());
+    }
+
+    private static BinderMappings mapping(String binding, String replyTopic, String topicPattern) {
+        BinderMappings mapping = new BinderMappings();
+        mapping.setBinding(binding);
+        mapping.setReplyTopic(replyTopic);
+        mapping.setTopicPatterns(List.of(topicPattern));
+        return mapping;
+    }
+}
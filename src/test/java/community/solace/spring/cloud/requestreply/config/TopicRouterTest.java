@@ -0,0 +1,89 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TopicRouterTest {
+
+    @Test
+    void tokenizeShouldRecognizeTopicPatterns_andRejectRegexes() {
+        assertEquals(List.of(new TopicRouter.Token(TopicRouter.TokenType.LITERAL, "a/b.c")),
+                TopicRouter.tokenize("^a/b\\.c$"));
+        assertEquals(List.of(
+                        new TopicRouter.Token(TopicRouter.TokenType.LITERAL, "a/"),
+                        new TopicRouter.Token(TopicRouter.TokenType.LEVEL, null),
+                        new TopicRouter.Token(TopicRouter.TokenType.LITERAL, "/"),
+                        new TopicRouter.Token(TopicRouter.TokenType.NON_EMPTY_SUFFIX, null)),
+                TopicRouter.tokenize("a/[^/]+/.+"));
+
+        assertNull(TopicRouter.tokenize("a/\\d+"));
+        assertNull(TopicRouter.tokenize("a/(b|c)/.*"));
+        assertNull(TopicRouter.tokenize("a/[^/]+b"));
+        assertNull(TopicRouter.tokenize("a/[^/]*.+"));
+        assertNull(TopicRouter.tokenize("a/.*/b"));
+    }
+
+    @Test
+    void findMatchingBinderShouldPreferFirstMapping_regardlessOfPatternKind() {
+        TopicRouter router = new TopicRouter(List.of(
+                mapping("regex", "orders/(eu|us)/.*"),
+                mapping("level", "orders/[^/]+/created"),
+                mapping("prefix", "orders/.*"),
+                mapping("exact", "orders/eu/created")
+        ));
+
+        assertEquals(Optional.of("regex"), router.findMatchingBinder("orders/eu/created"));
+        assertEquals(Optional.of("level"), router.findMatchingBinder("orders/apac/created"));
+        assertEquals(Optional.of("prefix"), router.findMatchingBinder("orders/apac/deleted"));
+        assertEquals(Optional.empty(), router.findMatchingBinder("invoices/eu/created"));
+        // Served from the cache.
+        assertEquals(Optional.of("level"), router.findMatchingBinder("orders/apac/created"));
+    }
+
+    @Test
+    void findMatchingBinderShouldAgreeWithRegexMatching() {
+        List<BinderMappings> mappings = List.of(
+                mapping("exact", "a/b/c", "^x/y$"),
+                mapping("prefix", "a/b/.*", "p.+"),
+                mapping("emptyPrefix", ".+"),
+                mapping("level", "a/[^/]+/c", "l/[^/]*/[^/]+", "m/[^/]+.*", "n/[^/]+/.+"),
+                mapping("escaped", "e\\.f/\\*"),
+                mapping("regex", "r/\\d+/.*", "s/(t|u)", "a/b?")
+        );
+        List<String> destinations = List.of(
+                "", "a", "a/", "a/b", "a/b/", "a/b/c", "a/b/c/d", "a/x/c", "a//c", "x/y", "x/y/z",
+                "p", "pq", "l//x", "l/a/", "l/a/b", "l/a/b/c", "m/", "m/a", "m/a/b", "n/a/", "n/a/b", "n//b",
+                "e.f/*", "ef/*", "e.f/x", "r/12/x", "r/x/y", "s/t", "s/v", "q"
+        );
+
+        TopicRouter router = new TopicRouter(mappings);
+        for (String destination : destinations) {
+            assertEquals(scan(mappings, destination), router.findMatchingBinder(destination), destination);
+        }
+    }
+
+    private static Optional<String> scan(List<BinderMappings> mappings, String destination) {
+        for (BinderMappings mapping : mappings) {
+            for (Pattern topicPattern : mapping.getTopicPatterns()) {
+                if (topicPattern.matcher(destination).matches()) {
+                    return Optional.of(mapping.getBinding());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static BinderMappings mapping(String binding, String... topicPatterns) {
+        BinderMappings mapping = new BinderMappings();
+        mapping.setBinding(binding);
+        mapping.setTopicPatterns(new ArrayList<>(List.of(topicPatterns)));
+        return mapping;
+    }
+}
@@ -0,0 +1,49 @@
+package community.solace.spring.cloud.requestreply.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TopicTemplateTest {
+    private static final List<String> TOPICS = List.of(
+            "",
+            "plain/topic",
+            "requestReply/response/{StagePlaceholder}/itTests",
+            "{a}/{b}/{unknown}",
+            "{stage-name}/x/{a}",
+            "{}/{a{b}/}{/{a}}",
+            "trailing/{a"
+    );
+
+    @Test
+    void renderShouldAgreeWithStringReplace() {
+        Map<String, String> replacements = Map.of("StagePlaceholder", "p-pineapple", "a", "A", "b", "B", "stage-name", "dev");
+
+        for (String topic : TOPICS) {
+            String expected = topic;
+            for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+                expected = expected.replace("{" + replacement.getKey() + "}", replacement.getValue());
+            }
+            assertEquals(expected, TopicTemplate.parse(topic).render(replacements), topic);
+        }
+    }
+
+    @Test
+    void renderWildcardsShouldAgreeWithRegexReplace() {
+        for (String topic : TOPICS) {
+            assertEquals(topic.replaceAll("(\\{\\w+\\})", "*"), TopicTemplate.parse(topic).renderWildcards("*"), topic);
+        }
+    }
+
+    @Test
+    void renderShouldReturnTopic_whenItHasNoVariables() {
+        String topic = "plain/topic";
+
+        assertSame(topic, TopicTemplate.parse(topic).render(Map.of("a", "A")));
+        assertSame(topic, TopicTemplate.parse(topic).renderWildcards("*"));
+    }
+}
@@ -0,0 +1,69 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.solacesystems.jcsmp.SDTStream;
+import community.solace.spring.cloud.requestreply.service.header.parser.SpringHeaderParser;
+import community.solace.spring.cloud.requestreply.util.MessageChunker;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupedReplyDecoderTest {
+
+    @Test
+    void decode_shouldEmitElementsInOrderWithHeadersOfGroupedReply() {
+        Message<SDTStream> grouped = MessageBuilder
+                .withPayload(TestSdtStreamSupport.createSdtStream(List.of("a", "b", "c")))
+                .setCorrelationId("correlationId")
+                .setHeader(SpringHeaderParser.GROUPED_MESSAGES, true)
+                .setHeader(SpringHeaderParser.GROUPED_CONTENT_TYPE, "application/json")
+                .build();
+        assertTrue(GroupedReplyDecoder.isGrouped(grouped));
+
+        List<Message<?>> elements = new ArrayList<>();
+        GroupedReplyDecoder.decode(grouped, elements::add);
+
+        assertEquals(List.of("a", "b", "c"), elements.stream().map(Message::getPayload).toList());
+        for (Message<?> element : elements) {
+            assertEquals("correlationId", element.getHeaders().get("correlationId"));
+            assertEquals("application/json", element.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+            assertNotEquals(grouped.getHeaders().getId(), element.getHeaders().getId());
+        }
+        assertEquals(3, elements.stream().map(element -> element.getHeaders().getId()).distinct().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void decode_shouldInflateDeflatedElements() {
+        List<Message<?>> responses = List.of(
+                MessageBuilder.withPayload("first".getBytes(StandardCharsets.UTF_8)).build(),
+                MessageBuilder.withPayload("second".getBytes(StandardCharsets.UTF_8)).build());
+        Message<?> grouped = MessageChunker.chunks(responses.iterator(), 1_000, 100, 1).next().message();
+
+        List<Message<?>> elements = new ArrayList<>();
+        GroupedReplyDecoder.decode((Message<SDTStream>) grouped, elements::add);
+
+        assertEquals(List.of("first", "second"), elements.stream()
+                .map(element -> new String((byte[]) element.getPayload(), StandardCharsets.UTF_8))
+                .toList());
+    }
+
+    @Test
+    void isGrouped_shouldBeFalse_whenGroupedHeaderIsMissing() {
+        Message<SDTStream> stream = MessageBuilder
+                .withPayload(TestSdtStreamSupport.createSdtStream(List.of("a")))
+                .build();
+
+        assertFalse(GroupedReplyDecoder.isGrouped(stream));
+    }
+}
@@ -1,6 +1,7 @@
 package community.solace.spring.cloud.requestreply.service;
 
 import community.solace.spring.cloud.requestreply.AbstractRequestReplySimpleIT;
+import community.solace.spring.cloud.requestreply.service.header.RequestReplyHeaders;
 import community.solace.spring.cloud.requestreply.service.header.RequestReplyMessageHeaderSupportService;
 import community.solace.spring.cloud.requestreply.service.header.parser.correlationid.MessageCorrelationIdParser;
 import community.solace.spring.cloud.requestreply.service.header.parser.destination.MessageDestinationParser;
@@ -95,4 +96,28 @@ class HeaderParserTests extends AbstractRequestReplySimpleIT {
         assertEquals(correlationId2, message.getHeaders().get(IntegrationMessageHeaderAccessor.CORRELATION_ID));
         assertEquals(correlationId1, message.getHeaders().get(HTTP_HEADER_CORRELATION_ID));
     }
+
+    @Test
+    void resolveHeaders_shouldResolveInParserPrecedence_regardlessOfEarlierMessages() {
+        String httpCorrelationId = "93205362-d3ea-4fb7-9fa9-http";
+        String solaceCorrelationId = "93205362-d3ea-4fb7-9fa9-solace";
+        Message<String> httpOnly = MessageBuilder.withPayload("httpOnly")
+                .setHeader(HTTP_HEADER_CORRELATION_ID, httpCorrelationId)
+                .setHeader("totalReplies", "3")
+                .setHeader("replyIndex", "1")
+                .build();
+        Message<String> both = MessageBuilder.fromMessage(httpOnly)
+                .setHeader("solace_correlationId"/*SolaceHeaders.CORRELATION_ID*/, solaceCorrelationId)
+                .build();
+
+        RequestReplyHeaders headers = headerSupport.resolveHeaders(httpOnly);
+        assertEquals(httpCorrelationId, headers.getCorrelationId());
+        assertEquals(3L, headers.getTotalReplies());
+        assertEquals("1", headers.getReplyIndex());
+        assertNull(headers.getErrorMessage());
+
+        // A lower-precedence parser having matched before must not change the result.
+        assertEquals(solaceCorrelationId, headerSupport.resolveHeaders(both).getCorrelationId());
+        assertEquals(solaceCorrelationId, headerSupport.getCorrelationId(both));
+    }
 }
@@ -0,0 +1,80 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.function.context.FunctionProperties;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MessageConverterTest {
+    private final AtomicInteger declined = new AtomicInteger();
+    private final MessageConverter converter = new MessageConverter(new CompositeMessageConverter(List.of(
+            new DecliningConverter(declined),
+            new JacksonJsonMessageConverter())));
+
+    @Test
+    void planShouldConvertToFirstSupportedContentType() {
+        Message<?> message = converter.plan("application/x-unknown,application/json").convert(Map.of("id", 1));
+
+        assertEquals("{\"id\":1}", new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void planShouldRememberConverterPerPayloadType() {
+        MessageConverter.ConversionPlan plan = converter.plan("application/json");
+
+        plan.convert(Map.of("id", 1));
+        plan.convert(Map.of("id", 2));
+        Message<?> message = plan.convert(Map.of("id", 3));
+
+        assertEquals(1, declined.get());
+        assertEquals("{\"id\":3}", new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+        assertSame(plan, converter.plan("application/json"));
+    }
+
+    @Test
+    void planShouldPassPayloadOn_whenNoConverterHandlesIt() {
+        Object payload = new Object();
+
+        Message<?> message = converter.plan("application/x-unknown").convert(payload);
+
+        assertSame(payload, message.getPayload());
+        assertEquals("application/x-unknown", message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void convertMessageToBytesIfNecessaryShouldPreferExpectContentTypeHeader() {
+        Message<?> message = converter.convertMessageToBytesIfNecessary(
+                MessageBuilder.withPayload(Map.of("id", 1))
+                        .setHeader(FunctionProperties.EXPECT_CONTENT_TYPE_HEADER, "application/x-unknown")
+                        .build(),
+                "application/json");
+
+        assertEquals(Map.of("id", 1), message.getPayload());
+        assertEquals("application/json", message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    }
+
+    private record DecliningConverter(AtomicInteger calls) implements org.springframework.messaging.converter.MessageConverter {
+        @Override
+        public Object fromMessage(Message<?> message, Class<?> targetClass) {
+            return null;
+        }
+
+        @Override
+        public Message<?> toMessage(Object payload, MessageHeaders headers) {
+            calls.incrementAndGet();
+            return null;
+        }
+    }
+}
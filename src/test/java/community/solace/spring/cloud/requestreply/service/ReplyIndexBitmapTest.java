@@ -0,0 +1,76 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplyIndexBitmapTest {
+
+    @Test
+    void testAndSet_shouldReportIndicesSetBefore_acrossPageBoundaries() {
+        ReplyIndexBitmap bitmap = new ReplyIndexBitmap();
+        int[] indices = {0, 1, 63, 64, 191, 192, 4_095, 4_096, 1 << 20, (1 << 24) + 1};
+
+        for (int index : indices) {
+            assertFalse(bitmap.testAndSet(index), "index " + index);
+        }
+        for (int index : indices) {
+            assertTrue(bitmap.testAndSet(index), "index " + index);
+        }
+        assertFalse(bitmap.testAndSet(2));
+        assertFalse(bitmap.testAndSet(65));
+    }
+
+    @Test
+    void test_shouldNotSetIndices() {
+        ReplyIndexBitmap bitmap = new ReplyIndexBitmap();
+
+        assertFalse(bitmap.test(70));
+        assertFalse(bitmap.test(70));
+        bitmap.testAndSet(70);
+        assertTrue(bitmap.test(70));
+        assertFalse(bitmap.test(71));
+    }
+
+    @Test
+    void testAndSet_shouldSetEachIndexOnce_whenCalledConcurrently() throws Exception {
+        int threads = 4;
+        int indices = 100_000;
+        ReplyIndexBitmap bitmap = new ReplyIndexBitmap();
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> newlySet = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                newlySet.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < indices; i++) {
+                        if (!bitmap.testAndSet(i)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+
+            int total = 0;
+            for (Future<Integer> future : newlySet) {
+                total += future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(indices, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
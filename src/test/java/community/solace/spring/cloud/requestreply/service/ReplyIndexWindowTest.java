@@ -0,0 +1,93 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplyIndexWindowTest {
+
+    @Test
+    void testAndSet_shouldTrackIndicesFromFirstIndex() {
+        ReplyIndexWindow window = new ReplyIndexWindow(10, 64);
+
+        assertTrue(window.testAndSet(9));
+        for (int i = 10; i < 42; i++) {
+            assertFalse(window.testAndSet(i));
+        }
+        // the first block is complete, so the window moved on
+        assertTrue(window.testAndSet(31));
+        assertFalse(window.testAndSet(42));
+        assertTrue(window.testAndSet(42));
+    }
+
+    @Test
+    void testAndSet_shouldMoveOn_whenGapIsFilled() {
+        ReplyIndexWindow window = new ReplyIndexWindow(0, 64);
+        for (int i = 1; i < 64; i++) {
+            assertFalse(window.testAndSet(i));
+        }
+        // beyond the window while index 0 is missing
+        assertFalse(window.testAndSet(64));
+        assertFalse(window.testAndSet(64));
+
+        assertFalse(window.testAndSet(0));
+        assertTrue(window.testAndSet(63));
+        assertFalse(window.testAndSet(100));
+        assertTrue(window.testAndSet(100));
+    }
+
+    @Test
+    void test_shouldNotSetIndices() {
+        ReplyIndexWindow window = new ReplyIndexWindow(10, 64);
+
+        assertTrue(window.test(9));
+        assertFalse(window.test(10));
+        assertFalse(window.test(10));
+        window.testAndSet(10);
+        assertTrue(window.test(10));
+        // beyond the window
+        assertFalse(window.test(1_000));
+    }
+
+    @Test
+    void testAndSet_shouldReportEachIndexOnce_whenCalledConcurrently() throws Exception {
+        int threads = 4;
+        int indices = 1_000_000;
+        ReplyIndexWindow window = new ReplyIndexWindow(0, 1 << 16);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> newlySet = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                newlySet.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < indices; i++) {
+                        if (!window.testAndSet(i)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+
+            int total = 0;
+            for (Future<Integer> future : newlySet) {
+                total += future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(indices, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import community.solace.spring.cloud.requestreply.AbstractRequestReplySimpleIT;
+import community.solace.spring.cloud.requestreply.model.SensorReading;
+import community.solace.spring.cloud.requestreply.service.header.parser.errormessage.RemoteErrorException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Runs the request/reply round trip with {@code completionMode: async}, where no executor thread is parked while a
+ * request awaits its reply.
+ */
+@TestPropertySource(properties = "spring.cloud.stream.requestreply.completionMode=async")
+class RequestReplyAsyncCompletionServiceTests extends AbstractRequestReplySimpleIT {
+
+    private static final String TOPIC = "last_value/temperature/celsius/demo";
+
+    @MockitoBean
+    private StreamBridge streamBridge;
+    @Autowired
+    private RequestReplyServiceImpl requestReplyService;
+
+    @Test
+    void requestAndAwaitReplyToTopic_expectResponse_whenResponseSend() throws TimeoutException, RemoteErrorException, InterruptedException {
+        SensorReading expectedResponse = new SensorReading();
+        expectedResponse.setSensorID("livingroom");
+
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   requestReplyService.onReplyReceived(
+                           MessageBuilder.createMessage(
+                                   expectedResponse,
+                                   ((Message<?>) invocation.getArgument(1)).getHeaders()
+                           )
+                   );
+                   return true;
+               });
+
+        SensorReading response = requestReplyService.requestAndAwaitReplyToTopic(
+                new SensorReading(),
+                TOPIC,
+                SensorReading.class,
+                Duration.ofSeconds(10)
+        );
+
+        assertEquals(expectedResponse, response);
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+
+        resetMocks();
+    }
+
+    @Test
+    void requestAndAwaitReplyToTopic_expectTimeout_whenNoResponse() {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenReturn(true);
+
+        assertThrows(TimeoutException.class, () -> requestReplyService.requestAndAwaitReplyToTopic(
+                new SensorReading(),
+                TOPIC,
+                SensorReading.class,
+                Duration.ofMillis(100)
+        ));
+
+        // The abort path must release the pending handler even though no thread was waiting for it.
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+
+        resetMocks();
+    }
+
+    @Test
+    void requestAndAwaitReplyToTopic_expectRemoteError_whenErrorResponse() {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   requestReplyService.onReplyReceived(
+                           MessageBuilder
+                                   .fromMessage((Message<?>) invocation.getArgument(1))
+                                   .setHeader("errorMessage", "Something went wrong")
+                                   .build()
+                   );
+                   return true;
+               });
+
+        RemoteErrorException error = assertThrows(RemoteErrorException.class, () -> requestReplyService.requestAndAwaitReplyToTopic(
+                new SensorReading(),
+                TOPIC,
+                SensorReading.class,
+                Duration.ofSeconds(10)
+        ));
+
+        assertEquals("Something went wrong", error.getMessage());
+
+        resetMocks();
+    }
+
+    @Test
+    void requestReplyToTopic_expectAllRequestsCompleted_whenRepliesArriveAfterSend() throws Exception {
+        int requests = 200;
+        List<Message<?>> sentMessages = new CopyOnWriteArrayList<>();
+
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   sentMessages.add(invocation.getArgument(1));
+                   return true;
+               });
+
+        List<CompletableFuture<SensorReading>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10)));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(sentMessages::size, equalTo(requests));
+        assertEquals(requests, requestReplyService.runningRequests());
+
+        // A single thread, emulating the binder's reply consumer, completes every pending request.
+        Thread replier = new Thread(() -> {
+            for (Message<?> sent : sentMessages) {
+                SensorReading response = new SensorReading();
+                response.setSensorID((String) sent.getHeaders().get("correlationId"));
+                requestReplyService.onReplyReceived(MessageBuilder.createMessage(response, sent.getHeaders()));
+            }
+        }, "reply-injector");
+        replier.start();
+        replier.join();
+
+        for (CompletableFuture<SensorReading> future : futures) {
+            assertEquals(SensorReading.class, future.get(5, TimeUnit.SECONDS).getClass());
+        }
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+
+        Mockito.verify(streamBridge, Mockito.times(requests)).send(anyString(), any(Message.class));
+        resetMocks();
+    }
+}
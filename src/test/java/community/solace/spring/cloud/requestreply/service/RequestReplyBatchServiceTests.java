@@ -0,0 +1,140 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import community.solace.spring.cloud.requestreply.AbstractRequestReplySimpleIT;
+import community.solace.spring.cloud.requestreply.model.SensorReading;
+import community.solace.spring.cloud.requestreply.util.HashedWheelTimer;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class RequestReplyBatchServiceTests extends AbstractRequestReplySimpleIT {
+
+    private static final String BINDING = "requestReplyRepliesDemo";
+
+    @MockitoBean
+    private StreamBridge streamBridge;
+    @Autowired
+    private RequestReplyServiceImpl requestReplyService;
+
+    @Test
+    void requestReplyToBindingBatch_expectResponsePerRequest_whenResponsesSend() throws Exception {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   Message<SensorReading> msg = invocation.getArgument(1);
+
+                   // Echo the request, so every response can be related to its request.
+                   requestReplyService.onReplyReceived(MessageBuilder.createMessage(msg.getPayload(), msg.getHeaders()));
+                   return true;
+               });
+
+        List<SensorReading> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            SensorReading request = new SensorReading();
+            request.setSensorID("sensor-" + i);
+            requests.add(request);
+        }
+
+        List<CompletableFuture<SensorReading>> responses = requestReplyService.requestReplyToBindingBatch(
+                requests,
+                BINDING,
+                SensorReading.class,
+                Duration.ofSeconds(5)
+        );
+
+        assertEquals(requests.size(), responses.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals("sensor-" + i, responses.get(i).get(3, TimeUnit.SECONDS).getSensorID());
+        }
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+
+        Mockito.verify(streamBridge, Mockito.times(requests.size())).send(eq(BINDING + "-out-0"), any(Message.class));
+        resetMocks();
+    }
+
+    @Test
+    void requestReplyToBindingBatch_expectTimeoutForUnansweredRequests_whenOnlySomeResponsesSend() throws Exception {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   Message<SensorReading> msg = invocation.getArgument(1);
+                   if ("answered".equals(msg.getPayload().getSensorID())) {
+                       requestReplyService.onReplyReceived(MessageBuilder.createMessage(msg.getPayload(), msg.getHeaders()));
+                   }
+                   return true;
+               });
+
+        SensorReading answered = new SensorReading();
+        answered.setSensorID("answered");
+        SensorReading unanswered = new SensorReading();
+        unanswered.setSensorID("unanswered");
+
+        List<CompletableFuture<SensorReading>> responses = requestReplyService.requestReplyToBindingBatch(
+                List.of(answered, unanswered, unanswered),
+                BINDING,
+                SensorReading.class,
+                Duration.ofMillis(200)
+        );
+
+        assertEquals("answered", responses.get(0).get(3, TimeUnit.SECONDS).getSensorID());
+        for (CompletableFuture<SensorReading> response : responses.subList(1, 3)) {
+            ExecutionException error = assertThrows(ExecutionException.class, () -> response.get(3, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, error.getCause());
+        }
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+
+        resetMocks();
+    }
+
+    @Test
+    void requestReplyToBindingBatch_expectException_whenBindingIsUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> requestReplyService.requestReplyToBindingBatch(
+                List.of(new SensorReading()),
+                "unknownBinding",
+                SensorReading.class,
+                Duration.ofMillis(100)
+        ));
+        assertEquals(0, requestReplyService.runningRequests());
+    }
+
+    @Test
+    void requestReplyAndBatch_expectNothingRegisteredOrSent_whenTimeoutSchedulerIsStopped() {
+        Object timeoutScheduler = ReflectionTestUtils.getField(requestReplyService, "timeoutScheduler");
+        HashedWheelTimer stopped = new HashedWheelTimer("stopped", Duration.ofMillis(10), 8);
+        stopped.stop();
+        ReflectionTestUtils.setField(requestReplyService, "timeoutScheduler", stopped);
+        try {
+            assertThrows(IllegalStateException.class, () -> requestReplyService.requestReplyToBinding(
+                    new SensorReading(), BINDING, SensorReading.class, Duration.ofSeconds(5)));
+            assertThrows(IllegalStateException.class, () -> requestReplyService.requestReplyToBindingBatch(
+                    List.of(new SensorReading(), new SensorReading()), BINDING, SensorReading.class, Duration.ofSeconds(5)));
+        } finally {
+            ReflectionTestUtils.setField(requestReplyService, "timeoutScheduler", timeoutScheduler);
+        }
+
+        assertEquals(0, requestReplyService.runningRequests());
+        Mockito.verify(streamBridge, Mockito.never()).send(anyString(), any(Message.class));
+        resetMocks();
+    }
+}
@@ -0,0 +1,89 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import community.solace.spring.cloud.requestreply.AbstractRequestReplySimpleIT;
+import community.solace.spring.cloud.requestreply.model.SensorReading;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Runs the request/reply round trip on a bounded executor of one thread and a queue of one task.
+ */
+@TestPropertySource(properties = {
+        "spring.cloud.stream.requestreply.executor.type=bounded",
+        "spring.cloud.stream.requestreply.executor.maxThreads=1",
+        "spring.cloud.stream.requestreply.executor.queueCapacity=1"
+})
+class RequestReplyBoundedExecutorServiceTests extends AbstractRequestReplySimpleIT {
+
+    private static final String TOPIC = "last_value/temperature/celsius/demo";
+
+    @MockitoBean
+    private StreamBridge streamBridge;
+    @Autowired
+    private RequestReplyServiceImpl requestReplyService;
+
+    @Test
+    void requestReplyToTopic_expectResponse_whenExecutorIsSaturatedOnReply() throws Exception {
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(requestReplyService, "requestReplyExecutorService");
+        CountDownLatch release = new CountDownLatch(1);
+        SensorReading expectedResponse = new SensorReading();
+        expectedResponse.setSensorID("livingroom");
+
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   // The only thread sends this request, fill the queue so that the executor rejects any further task.
+                   executor.execute(() -> awaitQuietly(release));
+                   assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+
+                   requestReplyService.onReplyReceived(
+                           MessageBuilder.createMessage(
+                                   expectedResponse,
+                                   ((Message<?>) invocation.getArgument(1)).getHeaders()
+                           )
+                   );
+                   return true;
+               });
+
+        try {
+            SensorReading response = requestReplyService
+                    .requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(expectedResponse, response);
+        } finally {
+            release.countDown();
+        }
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+
+        resetMocks();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import community.solace.spring.cloud.requestreply.AbstractRequestReplySimpleIT;
+import community.solace.spring.cloud.requestreply.config.BinderMappings;
+import community.solace.spring.cloud.requestreply.config.ConcurrencyLimitProperties;
+import community.solace.spring.cloud.requestreply.config.ConcurrencyLimitType;
+import community.solace.spring.cloud.requestreply.config.OverflowStrategy;
+import community.solace.spring.cloud.requestreply.config.RequestReplyProperties;
+import community.solace.spring.cloud.requestreply.model.SensorReading;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Runs requests on a binding that allows a single request in flight and queues the others.
+ */
+@TestPropertySource(properties = {
+        "spring.cloud.stream.requestreply.bindingMapping[0].binding=requestReplyRepliesDemo",
+        "spring.cloud.stream.requestreply.bindingMapping[0].replyTopic=requestReply/response/{StagePlaceholder}/itTests",
+        "spring.cloud.stream.requestreply.bindingMapping[0].topicPatterns[0]=last_value/temperature/celsius/.*",
+        "spring.cloud.stream.requestreply.bindingMapping[0].concurrencyLimit.type=fixed",
+        "spring.cloud.stream.requestreply.bindingMapping[0].concurrencyLimit.limit=1",
+        "spring.cloud.stream.requestreply.bindingMapping[0].concurrencyLimit.overflow=queue",
+        "spring.cloud.stream.requestreply.bindingMapping[0].concurrencyLimit.maxQueued=2",
+        "spring.cloud.stream.requestreply.bindingMapping[1].binding=uuidDemoA",
+        "spring.cloud.stream.requestreply.bindingMapping[1].replyTopic=uuidDemo/${replyTopicWithWildcards|uuid}",
+        "spring.cloud.stream.requestreply.bindingMapping[2].binding=uuidDemoB",
+        "spring.cloud.stream.requestreply.bindingMapping[2].replyTopic=uuidDemo/${replyTopicWithWildcards|uuid}"
+})
+class RequestReplyConcurrencyLimitServiceTests extends AbstractRequestReplySimpleIT {
+
+    private static final String TOPIC = "last_value/temperature/celsius/demo";
+
+    @MockitoBean
+    private StreamBridge streamBridge;
+    @Autowired
+    private RequestReplyServiceImpl requestReplyService;
+    @Autowired
+    private RequestReplyProperties requestReplyProperties;
+
+    @Test
+    void requestReplyToTopic_expectQueuedRequestsSentOneByOne_whenLimitIsReached() throws Exception {
+        List<Message<?>> sentMessages = new CopyOnWriteArrayList<>();
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   sentMessages.add(invocation.getArgument(1));
+                   return true;
+               });
+
+        CompletableFuture<SensorReading> first = requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10));
+        CompletableFuture<SensorReading> second = requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10));
+        CompletableFuture<SensorReading> third = requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10));
+        assertThrows(RejectedExecutionException.class, () -> requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10)));
+
+        List<CompletableFuture<SensorReading>> requests = List.of(first, second, third);
+        for (int i = 0; i < requests.size(); i++) {
+            // Only the request holding the permit is sent, the next one waits for its reply.
+            await().atMost(Duration.ofSeconds(3)).until(sentMessages::size, equalTo(i + 1));
+            Thread.sleep(50);
+            assertEquals(i + 1, sentMessages.size());
+
+            requestReplyService.onReplyReceived(MessageBuilder.createMessage(new SensorReading(), sentMessages.get(i).getHeaders()));
+            assertEquals(SensorReading.class, requests.get(i).get(3, TimeUnit.SECONDS).getClass());
+        }
+
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+        resetMocks();
+    }
+
+    @Test
+    void requestReplyToTopic_expectQueuedRequestNeverSent_whenItTimesOutWhileQueued() throws Exception {
+        List<Message<?>> sentMessages = new CopyOnWriteArrayList<>();
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   sentMessages.add(invocation.getArgument(1));
+                   return true;
+               });
+
+        CompletableFuture<SensorReading> first = requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10));
+        CompletableFuture<SensorReading> queued = requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofMillis(100));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> queued.get(3, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+
+        await().atMost(Duration.ofSeconds(3)).until(sentMessages::size, equalTo(1));
+        requestReplyService.onReplyReceived(MessageBuilder.createMessage(new SensorReading(), sentMessages.get(0).getHeaders()));
+        first.get(3, TimeUnit.SECONDS);
+
+        Thread.sleep(100);
+        assertEquals(1, sentMessages.size());
+        assertFalse(first.isCompletedExceptionally());
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+
+        resetMocks();
+    }
+
+    @Test
+    void requestReplyToTopic_expectNewLimit_whenBindingMappingIsBoundAgain() throws Exception {
+        @SuppressWarnings("unchecked")
+        List<BinderMappings> original = (List<BinderMappings>) ReflectionTestUtils.getField(requestReplyProperties, "bindingMapping");
+        List<Message<?>> sentMessages = new CopyOnWriteArrayList<>();
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   sentMessages.add(invocation.getArgument(1));
+                   return true;
+               });
+
+        ConcurrencyLimitProperties limit = new ConcurrencyLimitProperties();
+        limit.setType(ConcurrencyLimitType.FIXED);
+        limit.setLimit(2);
+        limit.setOverflow(OverflowStrategy.FAIL);
+        BinderMappings rebound = new BinderMappings();
+        rebound.setBinding("requestReplyRepliesDemo");
+        rebound.setReplyTopic("requestReply/response/{StagePlaceholder}/itTests");
+        rebound.setTopicPatterns(List.of("last_value/temperature/celsius/.*"));
+        rebound.setConcurrencyLimit(limit);
+        requestReplyProperties.setBindingMapping(List.of(rebound));
+        try {
+            CompletableFuture<SensorReading> first = requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10));
+            CompletableFuture<SensorReading> second = requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10));
+            await().atMost(Duration.ofSeconds(3)).until(sentMessages::size, equalTo(2));
+            assertThrows(RejectedExecutionException.class, () -> requestReplyService.requestReplyToTopic(new SensorReading(), TOPIC, SensorReading.class, Duration.ofSeconds(10)));
+
+            for (Message<?> sent : sentMessages) {
+                requestReplyService.onReplyReceived(MessageBuilder.createMessage(new SensorReading(), sent.getHeaders()));
+            }
+            assertEquals(SensorReading.class, first.get(3, TimeUnit.SECONDS).getClass());
+            assertEquals(SensorReading.class, second.get(3, TimeUnit.SECONDS).getClass());
+        } finally {
+            requestReplyProperties.setBindingMapping(original);
+        }
+
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+        resetMocks();
+    }
+}
@@ -0,0 +1,116 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import community.solace.spring.cloud.requestreply.AbstractRequestReplySimpleIT;
+import community.solace.spring.cloud.requestreply.model.SensorReading;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class RequestReplyReactiveServiceTests extends AbstractRequestReplySimpleIT {
+
+    private static final String BINDING = "requestReplyRepliesDemo";
+
+    @MockitoBean
+    private StreamBridge streamBridge;
+    @Autowired
+    private RequestReplyServiceImpl requestReplyService;
+
+    @Test
+    void requestReplyToBindingReactive_expectPendingRequestRemoved_whenSubscriptionCancelled() {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class))).thenReturn(true);
+
+        Flux<SensorReading> flux = requestReplyService.requestReplyToBindingReactive(
+                new SensorReading(),
+                BINDING,
+                SensorReading.class,
+                Duration.ofSeconds(30)
+        );
+
+        long start = System.nanoTime();
+        Disposable subscription = flux.subscribe();
+        // Subscribing must not wait for the request to complete.
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(1));
+
+        subscription.dispose();
+
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+        resetMocks();
+    }
+
+    @Test
+    void requestReplyToBindingReactive_expectRepliesOnDemand_whenSubscriberRequestsOneByOne() {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   Message<SensorReading> msg = invocation.getArgument(1);
+                   for (int i = 0; i < 3; i++) {
+                       SensorReading reply = new SensorReading();
+                       reply.setSensorID("reply-" + i);
+                       requestReplyService.onReplyReceived(
+                               MessageBuilder
+                                       .withPayload(reply)
+                                       .setHeaders(new MessageHeaderAccessor(msg))
+                                       .setHeader("totalReplies", "3")
+                                       .setHeader("replyIndex", String.valueOf(i))
+                                       .build()
+                       );
+                   }
+                   return true;
+               });
+
+        Flux<String> flux = requestReplyService.requestReplyToBindingReactive(
+                        new SensorReading(),
+                        BINDING,
+                        SensorReading.class,
+                        Duration.ofSeconds(5)
+                )
+                .map(SensorReading::getSensorID);
+
+        StepVerifier
+                .create(flux, 1)
+                .expectNext("reply-0")
+                .thenRequest(2)
+                .expectNext("reply-1", "reply-2")
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+        resetMocks();
+    }
+
+    @Test
+    void requestReplyToBindingReactive_expectTimeout_whenNoReplyReceived() {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class))).thenReturn(true);
+
+        StepVerifier
+                .create(requestReplyService.requestReplyToBindingReactive(
+                        new SensorReading(),
+                        BINDING,
+                        SensorReading.class,
+                        Duration.ofMillis(100)
+                ))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(10));
+
+        await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0));
+        resetMocks();
+    }
+}
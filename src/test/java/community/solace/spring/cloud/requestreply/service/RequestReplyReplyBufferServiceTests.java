@@ -0,0 +1,83 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.time.Duration;
+
+import community.solace.spring.cloud.requestreply.AbstractRequestReplySimpleIT;
+import community.solace.spring.cloud.requestreply.model.SensorReading;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.test.StepVerifier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Streams replies through a reply buffer, which drops the replies its subscriber did not request in time.
+ */
+@TestPropertySource(properties = {
+        "spring.cloud.stream.requestreply.bindingMapping[0].binding=requestReplyRepliesDemo",
+        "spring.cloud.stream.requestreply.bindingMapping[0].replyTopic=requestReply/response/{StagePlaceholder}/itTests",
+        "spring.cloud.stream.requestreply.bindingMapping[0].topicPatterns[0]=last_value/temperature/celsius/.*",
+        "spring.cloud.stream.requestreply.bindingMapping[0].replyBuffer.capacity=2",
+        "spring.cloud.stream.requestreply.bindingMapping[0].replyBuffer.overflow=drop",
+        "spring.cloud.stream.requestreply.bindingMapping[1].binding=uuidDemoA",
+        "spring.cloud.stream.requestreply.bindingMapping[1].replyTopic=uuidDemo/${replyTopicWithWildcards|uuid}",
+        "spring.cloud.stream.requestreply.bindingMapping[2].binding=uuidDemoB",
+        "spring.cloud.stream.requestreply.bindingMapping[2].replyTopic=uuidDemo/${replyTopicWithWildcards|uuid}"
+})
+class RequestReplyReplyBufferServiceTests extends AbstractRequestReplySimpleIT {
+
+    private static final String BINDING = "requestReplyRepliesDemo";
+
+    @MockitoBean
+    private StreamBridge streamBridge;
+    @Autowired
+    private RequestReplyServiceImpl requestReplyService;
+
+    @Test
+    void requestReplyToBindingReactive_expectBufferedRepliesOnly_whenSubscriberRequestsLate() {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   Message<SensorReading> msg = invocation.getArgument(1);
+                   for (int i = 0; i < 5; i++) {
+                       SensorReading reply = new SensorReading();
+                       reply.setSensorID("reply-" + i);
+                       requestReplyService.onReplyReceived(
+                               MessageBuilder
+                                       .withPayload(reply)
+                                       .setHeaders(new MessageHeaderAccessor(msg))
+                                       .setHeader("totalReplies", "5")
+                                       .setHeader("replyIndex", String.valueOf(i))
+                                       .build()
+                       );
+                   }
+                   return true;
+               });
+
+        StepVerifier
+                .create(requestReplyService.requestReplyToBindingReactive(
+                                new SensorReading(),
+                                BINDING,
+                                SensorReading.class,
+                                Duration.ofSeconds(5)
+                        )
+                        .map(SensorReading::getSensorID), 0)
+                .then(() -> await().atMost(Duration.ofSeconds(3)).until(requestReplyService::runningRequests, equalTo(0)))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext("reply-0", "reply-1")
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+        resetMocks();
+    }
+}
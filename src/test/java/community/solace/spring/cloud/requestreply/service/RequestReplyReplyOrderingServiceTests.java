@@ -0,0 +1,78 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import java.time.Duration;
+
+import community.solace.spring.cloud.requestreply.AbstractRequestReplySimpleIT;
+import community.solace.spring.cloud.requestreply.model.SensorReading;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.test.StepVerifier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Streams replies received out of order in the order of their replyIndex.
+ */
+@TestPropertySource(properties = {
+        "spring.cloud.stream.requestreply.bindingMapping[0].binding=requestReplyRepliesDemo",
+        "spring.cloud.stream.requestreply.bindingMapping[0].replyTopic=requestReply/response/{StagePlaceholder}/itTests",
+        "spring.cloud.stream.requestreply.bindingMapping[0].topicPatterns[0]=last_value/temperature/celsius/.*",
+        "spring.cloud.stream.requestreply.bindingMapping[0].replyOrdering.enabled=true",
+        "spring.cloud.stream.requestreply.bindingMapping[1].binding=uuidDemoA",
+        "spring.cloud.stream.requestreply.bindingMapping[1].replyTopic=uuidDemo/${replyTopicWithWildcards|uuid}",
+        "spring.cloud.stream.requestreply.bindingMapping[2].binding=uuidDemoB",
+        "spring.cloud.stream.requestreply.bindingMapping[2].replyTopic=uuidDemo/${replyTopicWithWildcards|uuid}"
+})
+class RequestReplyReplyOrderingServiceTests extends AbstractRequestReplySimpleIT {
+
+    private static final String BINDING = "requestReplyRepliesDemo";
+
+    @MockitoBean
+    private StreamBridge streamBridge;
+    @Autowired
+    private RequestReplyServiceImpl requestReplyService;
+
+    @Test
+    void requestReplyToBindingReactive_expectRepliesInOrder_whenReceivedOutOfOrder() {
+        Mockito.when(streamBridge.send(anyString(), any(Message.class)))
+               .thenAnswer(invocation -> {
+                   Message<SensorReading> msg = invocation.getArgument(1);
+                   for (int i : new int[]{3, 1, 0, 4, 2}) {
+                       SensorReading reply = new SensorReading();
+                       reply.setSensorID("reply-" + i);
+                       requestReplyService.onReplyReceived(
+                               MessageBuilder
+                                       .withPayload(reply)
+                                       .setHeaders(new MessageHeaderAccessor(msg))
+                                       .setHeader("totalReplies", "5")
+                                       .setHeader("replyIndex", String.valueOf(i))
+                                       .build()
+                       );
+                   }
+                   return true;
+               });
+
+        StepVerifier
+                .create(requestReplyService.requestReplyToBindingReactive(
+                                new SensorReading(),
+                                BINDING,
+                                SensorReading.class,
+                                Duration.ofSeconds(5)
+                        )
+                        .map(SensorReading::getSensorID))
+                .expectNext("reply-0", "reply-1", "reply-2", "reply-3", "reply-4")
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+        resetMocks();
+    }
+}
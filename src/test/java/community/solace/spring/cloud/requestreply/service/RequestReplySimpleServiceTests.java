@@ -20,6 +20,8 @@ import reactor.test.StepVerifier;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.stream.binder.BinderHeaders;
+import org.springframework.cloud.stream.config.BindingProperties;
+import org.springframework.cloud.stream.config.BindingServiceProperties;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
@@ -43,6 +45,8 @@ class RequestReplySimpleServiceTests extends AbstractRequestReplySimpleIT {
     private StreamBridge streamBridge;
     @Autowired
     private RequestReplyServiceImpl requestReplyService;
+    @Autowired
+    private BindingServiceProperties bindingServiceProperties;
 
     @Test
     void requestAndAwaitReplyToTopic_expectException_whenNoResponse() {
@@ -373,6 +377,37 @@ class RequestReplySimpleServiceTests extends AbstractRequestReplySimpleIT {
         );
     }
 
+    @Test
+    void requestAndAwaitReplyToBinding_expectNewDestination_whenOutputBindingIsBoundAgain() {
+        BindingProperties output = bindingServiceProperties.getBindingProperties("requestReplyRepliesDemo-out-0");
+        String destination = output.getDestination();
+        assertThrows(TimeoutException.class, () -> requestReplyService.requestAndAwaitReplyToBinding(
+                new SensorReading(), "requestReplyRepliesDemo", SensorReading.class, Duration.ofMillis(100)));
+
+        output.setDestination("the/other/request/topic");
+        try {
+            assertThrows(TimeoutException.class, () -> requestReplyService.requestAndAwaitReplyToBinding(
+                    new SensorReading(), "requestReplyRepliesDemo", SensorReading.class, Duration.ofMillis(100)));
+        } finally {
+            output.setDestination(destination);
+        }
+
+        ArgumentCaptor<Message<?>> sentMessages = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(streamBridge, Mockito.times(2))
+               .send(
+                       anyString(),
+                       sentMessages.capture()
+               );
+
+        assertEquals(
+                List.of("the/request/topic", "the/other/request/topic"),
+                sentMessages.getAllValues()
+                             .stream()
+                             .map(message -> message.getHeaders().get(BinderHeaders.TARGET_DESTINATION))
+                             .toList()
+        );
+    }
+
     @Test
     void requestAndAwaitReplyToBindingWithMsg_expectException_whenNoResponse() {
         SensorReading requestContent = new SensorReading();
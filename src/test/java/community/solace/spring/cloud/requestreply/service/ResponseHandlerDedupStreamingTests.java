@@ -5,11 +5,15 @@
 package community.solace.spring.cloud.requestreply.service;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import community.solace.spring.cloud.requestreply.service.logging.DefaultRequestReplyLogger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -22,10 +26,13 @@ class ResponseHandlerDedupStreamingTests {
     @AfterEach
     void clearMaxBitsSystemProperty() {
         System.clearProperty("spring.cloud.stream.requestreply.dedup.maxBitsWhenUnknown");
+        System.clearProperty("spring.cloud.stream.requestreply.dedup.windowBitsWhenUnknown");
     }
 
     @Test
     void checkDuplicate_shouldDeduplicateNumericIndices_whenTotalRepliesUnknown_upToDefaultCap() {
+        System.setProperty("spring.cloud.stream.requestreply.dedup.windowBitsWhenUnknown", "0");
+
         AtomicInteger received = new AtomicInteger();
         ResponseHandler handler = new ResponseHandler(
                 msg -> received.incrementAndGet(),
@@ -40,13 +47,16 @@ class ResponseHandlerDedupStreamingTests {
         assertFalse(handler.checkDuplicate("99999"));
         assertTrue(handler.checkDuplicate("99999"));
 
-        // Above default cap (100000): not deduped (current behavior is to skip/cap dedup).
+        // Above default cap (100000) without window: not deduped (dedup is skipped/capped).
         assertFalse(handler.checkDuplicate("100000"));
         assertFalse(handler.checkDuplicate("100000"));
     }
 
     @Test
-    void checkDuplicate_shouldDeduplicateRanges_whenTotalRepliesUnknown() {
+    void checkDuplicate_shouldDeduplicateBeyondCap_withinWindow_whenTotalRepliesUnknown() {
+        System.setProperty("spring.cloud.stream.requestreply.dedup.maxBitsWhenUnknown", "10");
+        System.setProperty("spring.cloud.stream.requestreply.dedup.windowBitsWhenUnknown", "64");
+
         ResponseHandler handler = new ResponseHandler(
                 msg -> {
                 },
@@ -55,12 +65,72 @@ class ResponseHandlerDedupStreamingTests {
                 new DefaultRequestReplyLogger()
         );
 
+        // A long in-order stream slides the window along.
+        for (int i = 0; i < 1_000_000; i++) {
+            assertFalse(handler.checkDuplicate(String.valueOf(i)));
+        }
+        assertTrue(handler.checkDuplicate("5"));
+        assertTrue(handler.checkDuplicate("500000"));
+        assertTrue(handler.checkDuplicate("999999"));
+
+        // A gap holds the window back: indices past it and beyond the window are not tracked.
+        assertFalse(handler.checkDuplicate("1000064"));
+        assertFalse(handler.checkDuplicate("1000064"));
+        assertFalse(handler.checkDuplicate("1000001"));
+        assertTrue(handler.checkDuplicate("1000001"));
+    }
+
+    @Test
+    void checkDuplicate_shouldDeduplicateRanges_whenTotalRepliesUnknown() {
+        AtomicInteger received = new AtomicInteger();
+        ResponseHandler handler = new ResponseHandler(
+                msg -> received.incrementAndGet(),
+                true,
+                null,
+                new DefaultRequestReplyLogger()
+        );
+        handler.setUnknownReplies();
+
         assertFalse(handler.checkDuplicate("10-12"));
-        // With start-only dedup semantics, only ranges with the same start are considered duplicates.
-        assertFalse(handler.checkDuplicate("11"));
+        receive(handler, "10-12", 3);
+        assertEquals(3, received.get());
+
+        // Every index of a received range counts as received, also when redelivered on its own.
+        assertTrue(handler.checkDuplicate("11"));
         assertTrue(handler.checkDuplicate("10-12"));
+        assertTrue(handler.checkDuplicate("10-11"));
         // non-overlapping -> not duplicate
         assertFalse(handler.checkDuplicate("13-15"));
+
+        // overlapping -> only the new indices are delivered
+        assertFalse(handler.checkDuplicate("11-13"));
+        receive(handler, "11-13", 3);
+        assertEquals(4, received.get());
+        assertTrue(handler.checkDuplicate("10-13"));
+    }
+
+    @Test
+    void checkDuplicate_shouldSkipDedup_whenRangeIsInvalid() {
+        ResponseHandler handler = new ResponseHandler(
+                msg -> {
+                },
+                true,
+                null,
+                new DefaultRequestReplyLogger()
+        );
+
+        assertFalse(handler.checkDuplicate("12-10"));
+        assertFalse(handler.checkDuplicate("12-10"));
+        assertFalse(handler.checkDuplicate("10-"));
+        assertFalse(handler.checkDuplicate("1-2-3"));
+        assertFalse(handler.checkDuplicate("99999999999"));
+    }
+
+    private static void receive(ResponseHandler handler, String replyIndex, int elements) {
+        Consumer<Message<?>> receiver = handler.receiver(replyIndex);
+        for (int i = 0; i < elements; i++) {
+            receiver.accept(MessageBuilder.withPayload(i).build());
+        }
     }
 
     @Test
@@ -0,0 +1,47 @@
+package community.solace.spring.cloud.requestreply.service;
+
+import community.solace.spring.cloud.requestreply.service.logging.DefaultRequestReplyLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseHandlerPhaseTimersTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PhaseTimers phases = PhaseTimers.register("binding", registry);
+
+    @Test
+    void receive_shouldRecordReplyPhases_fromSending() {
+        ResponseHandler handler = new ResponseHandler(msg -> {
+        }, true, null, new DefaultRequestReplyLogger(), null, phases);
+        handler.setTotalReplies(3L);
+
+        handler.sending();
+        for (int i = 0; i < 3; i++) {
+            handler.receive(MessageBuilder.withPayload(i).build());
+        }
+
+        assertTrue(handler.completion().isDone());
+        assertEquals(1, phases.firstReply().count());
+        assertEquals(2, phases.interReply().count());
+        assertEquals(1, phases.lastReply().count());
+        assertEquals(1, registry.get("requestReply.phase").tag("phase", "lastReply").timer().count());
+    }
+
+    @Test
+    void receive_shouldRecordGapsOnly_whenNotSent() {
+        ResponseHandler handler = new ResponseHandler(msg -> {
+        }, true, null, new DefaultRequestReplyLogger(), null, phases);
+        handler.setTotalReplies(2L);
+
+        handler.receive(MessageBuilder.withPayload(0).build());
+        handler.receive(MessageBuilder.withPayload(1).build());
+
+        assertEquals(0, phases.firstReply().count());
+        assertEquals(1, phases.interReply().count());
+        assertEquals(0, phases.lastReply().count());
+    }
+}
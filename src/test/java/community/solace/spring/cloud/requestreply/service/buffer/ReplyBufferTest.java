@@ -0,0 +1,144 @@
+package community.solace.spring.cloud.requestreply.service.buffer;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import community.solace.spring.cloud.requestreply.config.ReplyBufferProperties;
+import community.solace.spring.cloud.requestreply.config.ReplyOverflowStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplyBufferTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldEmitRepliesOnlyAsRequested() {
+        ReplyBuffers buffers = buffers(ReplyOverflowStrategy.BLOCK, 8);
+        AtomicReference<ReplyBuffer<String>> buffer = new AtomicReference<>();
+
+        StepVerifier
+                .create(flux(buffers, buffer), 0)
+                .then(() -> {
+                    for (int i = 0; i < 3; i++) {
+                        buffer.get().accept(reply("reply-" + i));
+                    }
+                    buffer.get().complete();
+                })
+                .expectNoEvent(Duration.ofMillis(50))
+                .then(() -> assertEquals(3, buffers.getDepth()))
+                .thenRequest(2)
+                .expectNext("reply-0", "reply-1")
+                .thenRequest(1)
+                .expectNext("reply-2")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, buffers.getDepth());
+    }
+
+    @Test
+    void shouldDropReplies_whenFullAndOverflowIsDrop() {
+        ReplyBuffers buffers = buffers(ReplyOverflowStrategy.DROP, 2);
+        AtomicReference<ReplyBuffer<String>> buffer = new AtomicReference<>();
+
+        StepVerifier
+                .create(flux(buffers, buffer), 0)
+                .then(() -> {
+                    for (int i = 0; i < 4; i++) {
+                        buffer.get().accept(reply("reply-" + i));
+                    }
+                    buffer.get().complete();
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext("reply-0", "reply-1")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, registry.get("requestReply.replyBuffer.overflow").tag("binding", "binding").counter().count());
+    }
+
+    @Test
+    void shouldFailAndAbort_whenFullAndOverflowIsError() {
+        ReplyBuffers buffers = buffers(ReplyOverflowStrategy.ERROR, 1);
+        AtomicReference<ReplyBuffer<String>> buffer = new AtomicReference<>();
+
+        StepVerifier
+                .create(flux(buffers, buffer), 0)
+                .then(() -> {
+                    buffer.get().accept(reply("reply-0"));
+                    buffer.get().accept(reply("reply-1"));
+                })
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertTrue(buffer.get().aborted().isDone());
+        assertEquals(0, buffers.getDepth());
+    }
+
+    @Test
+    void shouldReleaseBlockedReplyConsumer_whenSubscriberRequests() throws Exception {
+        ReplyBuffers buffers = buffers(ReplyOverflowStrategy.BLOCK, 1);
+        AtomicReference<ReplyBuffer<String>> buffer = new AtomicReference<>();
+
+        StepVerifier
+                .create(flux(buffers, buffer), 0)
+                .then(() -> executor.execute(() -> {
+                    buffer.get().accept(reply("reply-0"));
+                    // Blocks until reply-0 was requested.
+                    buffer.get().accept(reply("reply-1"));
+                    buffer.get().complete();
+                }))
+                .then(() -> await().atMost(Duration.ofSeconds(3)).until(buffers::getDepth, equalTo(1)))
+                .thenRequest(2)
+                .expectNext("reply-0", "reply-1")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, registry.get("requestReply.replyBuffer.overflow").counter().count());
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> buffers(ReplyOverflowStrategy.BLOCK, 0));
+    }
+
+    private ReplyBuffers buffers(ReplyOverflowStrategy overflow, int capacity) {
+        ReplyBufferProperties properties = new ReplyBufferProperties();
+        properties.setCapacity(capacity);
+        properties.setOverflow(overflow);
+        return new ReplyBuffers("binding", properties, registry);
+    }
+
+    private Flux<String> flux(ReplyBuffers buffers, AtomicReference<ReplyBuffer<String>> buffer) {
+        return Flux.create(sink -> {
+            ReplyBuffer<String> created = buffers.create(msg -> (String) msg.getPayload(), sink, executor);
+            sink.onRequest(created::request);
+            sink.onCancel(created::cancel);
+            buffer.set(created);
+        });
+    }
+
+    private static Message<String> reply(String payload) {
+        return MessageBuilder.withPayload(payload).build();
+    }
+}
@@ -0,0 +1,114 @@
+package community.solace.spring.cloud.requestreply.service.buffer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import community.solace.spring.cloud.requestreply.config.ReplyOrderingProperties;
+import community.solace.spring.cloud.requestreply.util.HashedWheelTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReplyReorderBufferTest {
+    private final HashedWheelTimer timer = new HashedWheelTimer("reorder-test", Duration.ofMillis(5), 64);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Object> received = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void stop() {
+        timer.stop();
+    }
+
+    @Test
+    void shouldHandOnRepliesInOrderOfTheirIndex() {
+        ReplyReorderBuffers buffers = buffers(8, Duration.ofSeconds(10));
+        ReplyReorderBuffer buffer = buffers.create(message -> received.add(message.getPayload()));
+
+        buffer.accept(2, reply(2));
+        buffer.accept(1, reply(1));
+        assertEquals(List.of(), received);
+        assertEquals(2, buffers.getDepth());
+
+        buffer.accept(0, reply(0));
+        buffer.accept(3, reply(3));
+
+        assertEquals(List.of(0, 1, 2, 3), received);
+        assertEquals(0, buffers.getDepth());
+        assertEquals(1, registry.get("requestReply.replyOrdering.stall").timer().count());
+    }
+
+    @Test
+    void shouldGiveUpMissingReply_afterGapTimeout() {
+        ReplyReorderBuffers buffers = buffers(8, Duration.ofMillis(50));
+        ReplyReorderBuffer buffer = buffers.create(message -> received.add(message.getPayload()));
+
+        buffer.accept(0, reply(0));
+        buffer.accept(2, reply(2));
+        buffer.accept(3, reply(3));
+
+        await().atMost(Duration.ofSeconds(5)).until(received::size, equalTo(3));
+        assertEquals(List.of(0, 2, 3), received);
+        assertEquals(1, registry.get("requestReply.replyOrdering.gapTimeout").counter().count());
+
+        // handed on late rather than dropped
+        buffer.accept(1, reply(1));
+        assertEquals(List.of(0, 2, 3, 1), received);
+        assertEquals(1, registry.get("requestReply.replyOrdering.late").counter().count());
+    }
+
+    @Test
+    void shouldGiveUpMissingReplies_whenReplyIsTooFarAhead() {
+        ReplyReorderBuffers buffers = buffers(4, Duration.ofSeconds(10));
+        ReplyReorderBuffer buffer = buffers.create(message -> received.add(message.getPayload()));
+
+        buffer.accept(2, reply(2));
+        buffer.accept(3, reply(3));
+        buffer.accept(5, reply(5));
+
+        assertEquals(List.of(2, 3), received);
+        assertEquals(2, registry.get("requestReply.replyOrdering.overflow").counter().count());
+        assertEquals(1, buffers.getDepth());
+    }
+
+    @Test
+    void shouldDiscardBufferedReplies_whenClosed() {
+        ReplyReorderBuffers buffers = buffers(8, Duration.ofMillis(20));
+        ReplyReorderBuffer buffer = buffers.create(message -> received.add(message.getPayload()));
+
+        buffer.accept(1, reply(1));
+        buffer.close();
+        buffer.accept(0, reply(0));
+
+        assertEquals(List.of(), received);
+        assertEquals(0, buffers.getDepth());
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        ReplyOrderingProperties properties = new ReplyOrderingProperties();
+        properties.setCapacity(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new ReplyReorderBuffers("binding", properties, timer, Runnable::run, registry));
+    }
+
+    private ReplyReorderBuffers buffers(int capacity, Duration gapTimeout) {
+        ReplyOrderingProperties properties = new ReplyOrderingProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(capacity);
+        properties.setGapTimeout(gapTimeout);
+        return new ReplyReorderBuffers("binding", properties, timer, Runnable::run, registry);
+    }
+
+    private static Message<Integer> reply(int index) {
+        return MessageBuilder.withPayload(index).build();
+    }
+}
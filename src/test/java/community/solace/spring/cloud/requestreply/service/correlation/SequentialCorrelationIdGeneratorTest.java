@@ -0,0 +1,47 @@
+package community.solace.spring.cloud.requestreply.service.correlation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SequentialCorrelationIdGeneratorTest {
+
+    @Test
+    void nextIdShouldEncodePrefixAndSequence() {
+        SequentialCorrelationIdGenerator generator = new SequentialCorrelationIdGenerator(0L);
+
+        assertEquals("AAAAAAAAAAA.A", generator.nextId());
+        assertEquals("AAAAAAAAAAA.B", generator.nextId());
+        for (int i = 2; i < 64; i++) {
+            generator.nextId();
+        }
+        assertEquals("AAAAAAAAAAA.BA", generator.nextId());
+    }
+
+    @Test
+    void nextIdShouldDifferBetweenInstances() {
+        String first = new SequentialCorrelationIdGenerator(-1L).nextId();
+        String second = new SequentialCorrelationIdGenerator(1L).nextId();
+
+        assertEquals("P__________.A", first);
+        assertNotEquals(first, second);
+        assertNotEquals(new SequentialCorrelationIdGenerator().nextId(), new SequentialCorrelationIdGenerator().nextId());
+    }
+
+    @Test
+    void nextIdShouldBeUniqueAcrossThreads() {
+        SequentialCorrelationIdGenerator generator = new SequentialCorrelationIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        assertEquals(100_000, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id.length() <= 15 && id.matches("[A-Za-z0-9_-]{11}\\.[A-Za-z0-9_-]+")));
+    }
+}
@@ -0,0 +1,119 @@
+package community.solace.spring.cloud.requestreply.service.header;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import community.solace.spring.cloud.requestreply.config.GroupingMode;
+import community.solace.spring.cloud.requestreply.config.GroupingPolicyProperties;
+import community.solace.spring.cloud.requestreply.config.GroupingProperties;
+import community.solace.spring.cloud.requestreply.util.MessageChunker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseGroupingTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void getPolicy_shouldInheritUnsetValuesFromDefaults() {
+        GroupingPolicyProperties binding = new GroupingPolicyProperties();
+        binding.setMaxBytes(64_000);
+        binding.setMode(GroupingMode.ADAPTIVE);
+        GroupingProperties grouping = new GroupingProperties();
+        grouping.setBindings(Map.of("binding-out-0", binding));
+
+        GroupingPolicyProperties policy = grouping.getPolicy("binding-out-0");
+        assertEquals(64_000, policy.getMaxBytes());
+        assertEquals(10_000, policy.getMaxMessages());
+        assertEquals(Duration.ofMillis(200), policy.getMaxLinger());
+        assertEquals(GroupingMode.ADAPTIVE, policy.getMode());
+
+        assertEquals(1_000_000, grouping.getPolicy("other-out-0").getMaxBytes());
+        assertEquals(GroupingMode.FIXED, grouping.getPolicy(null).getMode());
+    }
+
+    @Test
+    void batch_shouldFollowObservedResponseSizes_whenAdaptiveAndSizesUnknown() {
+        ResponseGrouping grouping = grouping(GroupingMode.ADAPTIVE, 10_000, 1_000);
+        assertEquals(List.of(30), batchSizes(grouping, Flux.range(0, 30), response -> -1));
+
+        chunk(grouping, 968, 20);
+
+        assertEquals(List.of(9, 9, 9, 3), batchSizes(grouping, Flux.range(0, 30), response -> -1));
+    }
+
+    @Test
+    void batch_shouldFillOneGroupedMessage_whenAdaptiveAndSizesKnown() {
+        ResponseGrouping grouping = grouping(GroupingMode.ADAPTIVE, 10_000, 1_000);
+
+        Flux<Message<byte[]>> responses = Flux.range(0, 30).map(i -> MessageBuilder.withPayload(new byte[i < 20 ? 968 : 4950]).build());
+
+        assertEquals(List.of(9, 9, 3, 2, 2, 2, 2, 1), batchSizes(grouping, responses, MessageChunker::groupedBytes));
+    }
+
+    @Test
+    void batch_shouldCollectMaxMessages_whenFixed() {
+        ResponseGrouping grouping = grouping(GroupingMode.FIXED, 10_000, 10);
+
+        chunk(grouping, 968, 20);
+
+        assertEquals(List.of(10, 10, 5), batchSizes(grouping, Flux.range(0, 25), response -> -1));
+    }
+
+    @Test
+    void recordShouldReportChunkSizeAndFill() {
+        ResponseGrouping grouping = grouping(GroupingMode.FIXED, 10_000, 1_000);
+
+        chunk(grouping, 968, 20);
+
+        DistributionSummary size = registry.get("requestReply.grouping.chunk.size").tag("binding", "binding-out-0").summary();
+        DistributionSummary messages = registry.get("requestReply.grouping.chunk.messages").summary();
+        DistributionSummary fill = registry.get("requestReply.grouping.chunk.fill").summary();
+        assertEquals(3, size.count());
+        assertEquals(20, messages.totalAmount());
+        assertTrue(fill.max() <= 1.0);
+    }
+
+    @Test
+    void shouldRejectNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> grouping(GroupingMode.FIXED, 0, 1_000));
+    }
+
+    private ResponseGrouping grouping(GroupingMode mode, int maxBytes, int maxMessages) {
+        GroupingPolicyProperties binding = new GroupingPolicyProperties();
+        binding.setMode(mode);
+        binding.setMaxBytes(maxBytes);
+        binding.setMaxMessages(maxMessages);
+        GroupingProperties grouping = new GroupingProperties();
+        grouping.setBindings(Map.of("binding-out-0", binding));
+        return new ResponseGrouping("binding-out-0", grouping.getPolicy("binding-out-0"), registry);
+    }
+
+    private static void chunk(ResponseGrouping grouping, int payloadBytes, int messages) {
+        List<Message<byte[]>> responses = new ArrayList<>();
+        for (int i = 0; i < messages; i++) {
+            responses.add(MessageBuilder.withPayload(new byte[payloadBytes]).build());
+        }
+        Iterator<MessageChunker.Chunk<Object>> chunks = MessageChunker.chunks(responses.iterator(), grouping.getMaxBytes(), grouping.getMaxMessages());
+        chunks.forEachRemaining(grouping::record);
+    }
+
+    private static <T> List<Integer> batchSizes(ResponseGrouping grouping, Flux<T> responses, ToIntFunction<? super T> responseBytes) {
+        return grouping.batch(responses, Duration.ofSeconds(10), responseBytes)
+                       .map(List::size)
+                       .collectList()
+                       .block();
+    }
+}
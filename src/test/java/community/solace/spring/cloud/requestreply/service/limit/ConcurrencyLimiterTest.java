@@ -0,0 +1,132 @@
+package community.solace.spring.cloud.requestreply.service.limit;
+
+import community.solace.spring.cloud.requestreply.config.ConcurrencyLimitProperties;
+import community.solace.spring.cloud.requestreply.config.ConcurrencyLimitType;
+import community.solace.spring.cloud.requestreply.config.OverflowStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void acquireShouldFail_whenFixedLimitIsReached() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("binding", properties(ConcurrencyLimitType.FIXED, 2, OverflowStrategy.FAIL), registry);
+
+        ConcurrencyLimiter.Permit first = limiter.acquire();
+        limiter.acquire();
+        assertThrows(RejectedExecutionException.class, limiter::acquire);
+
+        first.release(false);
+        first.release(false);
+        assertTrue(limiter.acquire().future().isDone());
+        assertThrows(RejectedExecutionException.class, limiter::acquire);
+
+        assertEquals(2, registry.get("requestReply.concurrency.rejected").tag("reason", "limit").counter().count());
+        assertEquals(2, registry.get("requestReply.concurrency.inFlight").gauge().value());
+    }
+
+    @Test
+    void acquireShouldQueue_whenLimitIsReached() {
+        ConcurrencyLimitProperties properties = properties(ConcurrencyLimitType.FIXED, 1, OverflowStrategy.QUEUE);
+        properties.setMaxQueued(2);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("binding", properties, null);
+
+        ConcurrencyLimiter.Permit first = limiter.acquire();
+        ConcurrencyLimiter.Permit second = limiter.acquire();
+        ConcurrencyLimiter.Permit third = limiter.acquire();
+        assertThrows(RejectedExecutionException.class, limiter::acquire);
+        assertFalse(second.future().isDone());
+        assertEquals(2, limiter.getQueued());
+
+        first.release(false);
+        assertTrue(second.future().isDone());
+        assertFalse(third.future().isDone());
+        assertEquals(1, limiter.getInFlight());
+
+        // A queued request that timed out gives up its place without ever being in flight.
+        third.release(true);
+        assertEquals(0, limiter.getQueued());
+        second.release(false);
+        assertFalse(third.future().isDone());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void releaseShouldShrinkAdaptiveLimit_whenRequestTimedOut() {
+        ConcurrencyLimitProperties properties = properties(ConcurrencyLimitType.ADAPTIVE, 10, OverflowStrategy.FAIL);
+        properties.setMinLimit(5);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("binding", properties, null);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire().release(true);
+        }
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void releaseShouldGrowAdaptiveLimit_whenLimitIsUsedAndRepliesArriveInTime() throws InterruptedException {
+        ConcurrencyLimitProperties properties = properties(ConcurrencyLimitType.ADAPTIVE, 4, OverflowStrategy.FAIL);
+        properties.setMaxLimit(6);
+        properties.setRttTolerance(1_000_000);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("binding", properties, null);
+
+        for (int i = 0; i < 10; i++) {
+            ConcurrencyLimiter.Permit first = limiter.acquire();
+            ConcurrencyLimiter.Permit second = limiter.acquire();
+            ConcurrencyLimiter.Permit third = limiter.acquire();
+            first.release(false);
+            second.release(false);
+            third.release(false);
+        }
+
+        assertEquals(6, limiter.getLimit());
+    }
+
+    @Test
+    void releaseShouldGrantAllQueuedPermitsTheGrownLimitAllows() {
+        ConcurrencyLimitProperties properties = properties(ConcurrencyLimitType.ADAPTIVE, 2, OverflowStrategy.QUEUE);
+        properties.setRttTolerance(1_000_000);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("binding", properties, null);
+
+        ConcurrencyLimiter.Permit first = limiter.acquire();
+        limiter.acquire();
+        ConcurrencyLimiter.Permit third = limiter.acquire();
+        ConcurrencyLimiter.Permit fourth = limiter.acquire();
+        ConcurrencyLimiter.Permit fifth = limiter.acquire();
+        assertEquals(3, limiter.getQueued());
+
+        // The limit grows from 2 to 3, so two queued requests fit in beside the remaining one.
+        first.release(false);
+        assertEquals(3, limiter.getLimit());
+        assertTrue(third.future().isDone());
+        assertTrue(fourth.future().isDone());
+        assertFalse(fifth.future().isDone());
+        assertEquals(3, limiter.getInFlight());
+        assertEquals(1, limiter.getQueued());
+    }
+
+    @Test
+    void acquireShouldAlwaysGrant_whenUnlimited() {
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ConcurrencyLimiter.UNLIMITED.acquire().future().isDone());
+        }
+        assertEquals(Integer.MAX_VALUE, ConcurrencyLimiter.UNLIMITED.getLimit());
+    }
+
+    private static ConcurrencyLimitProperties properties(ConcurrencyLimitType type, int limit, OverflowStrategy overflow) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setType(type);
+        properties.setLimit(limit);
+        properties.setOverflow(overflow);
+        return properties;
+    }
+}
@@ -0,0 +1,112 @@
+package community.solace.spring.cloud.requestreply.service.registry;
+
+import community.solace.spring.cloud.requestreply.config.PendingResponsesProperties;
+import community.solace.spring.cloud.requestreply.service.ResponseHandler;
+import community.solace.spring.cloud.requestreply.service.logging.DefaultRequestReplyLogger;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedPendingResponseRegistryTest {
+
+    @Test
+    void registerShouldRejectDuplicateCorrelationId() {
+        ShardedPendingResponseRegistry registry = new ShardedPendingResponseRegistry(new PendingResponsesProperties());
+        ResponseHandler first = handler();
+
+        assertTrue(registry.register("binding", "id-1", first));
+        assertFalse(registry.register("binding", "id-1", handler()));
+
+        assertSame(first, registry.get("binding", "id-1"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void getShouldFindHandler_whenBindingIsUnknownOrDiffers() {
+        ShardedPendingResponseRegistry registry = new ShardedPendingResponseRegistry(new PendingResponsesProperties());
+        ResponseHandler handler = handler();
+        registry.register("requests", "id-1", handler);
+
+        assertSame(handler, registry.get(null, "id-1"));
+        assertSame(handler, registry.get("otherBinding", "id-1"));
+        assertNull(registry.get("requests", "id-2"));
+    }
+
+    @Test
+    void removeShouldOnlyRemoveTheRegisteredHandler() {
+        ShardedPendingResponseRegistry registry = new ShardedPendingResponseRegistry(new PendingResponsesProperties());
+        ResponseHandler handler = handler();
+        registry.register("binding", "id-1", handler);
+
+        registry.remove("binding", "id-1", handler());
+        assertEquals(1, registry.size());
+
+        registry.remove("binding", "id-1", handler);
+        assertEquals(0, registry.size());
+        assertNull(registry.get("binding", "id-1"));
+    }
+
+    @Test
+    void registerShouldThrow_whenBindingReachedMaxPending() {
+        PendingResponsesProperties properties = new PendingResponsesProperties();
+        properties.setMaxPendingPerBinding(2);
+        ShardedPendingResponseRegistry registry = new ShardedPendingResponseRegistry(properties);
+
+        registry.register("binding", "id-1", handler());
+        registry.register("binding", "id-2", handler());
+
+        assertThrows(IllegalStateException.class, () -> registry.register("binding", "id-3", handler()));
+        // Other bindings have their own limit.
+        assertTrue(registry.register("otherBinding", "id-3", handler()));
+
+        PendingResponseRegistry.PartitionStats stats = registry.stats().get("binding");
+        assertEquals(new PendingResponseRegistry.PartitionStats(2, 2, 1, 2), stats);
+    }
+
+    @Test
+    void statsShouldTrackConcurrentRegistrations() throws Exception {
+        ShardedPendingResponseRegistry registry = new ShardedPendingResponseRegistry(new PendingResponsesProperties());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String binding = "binding-" + (t % 2);
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        ResponseHandler handler = handler();
+                        String correlationId = thread + "-" + i;
+                        registry.register(binding, correlationId, handler);
+                        if (i % 2 == 0) {
+                            registry.remove(binding, correlationId, handler);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4_000, registry.size());
+        assertEquals(2_000, registry.stats().get("binding-0").pending());
+        assertEquals(4_000, registry.stats().get("binding-1").registered());
+    }
+
+    private static ResponseHandler handler() {
+        return new ResponseHandler(msg -> { }, false, null, new DefaultRequestReplyLogger());
+    }
+}
@@ -0,0 +1,43 @@
+package community.solace.spring.cloud.requestreply.service.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JacksonResponseSerializerTest {
+    private final JacksonResponseSerializer serializer = new JacksonResponseSerializer(new JsonMapper());
+
+    @Test
+    void canSerializeShouldAcceptJsonOnly() {
+        assertTrue(serializer.canSerialize(Map.class, MimeTypeUtils.APPLICATION_JSON));
+        assertTrue(serializer.canSerialize(Map.class, MimeType.valueOf("application/vnd.sensor+json")));
+        assertFalse(serializer.canSerialize(Map.class, MimeTypeUtils.TEXT_PLAIN));
+        assertFalse(serializer.canSerialize(String.class, MimeTypeUtils.APPLICATION_JSON));
+        assertFalse(serializer.canSerialize(byte[].class, MimeTypeUtils.APPLICATION_JSON));
+    }
+
+    @Test
+    void serializeShouldAppendWithoutClosing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("closed");
+            }
+        };
+
+        serializer.serialize(Map.of("id", 1), MimeTypeUtils.APPLICATION_JSON, out);
+        serializer.serialize(Map.of("id", 2), MimeTypeUtils.APPLICATION_JSON, out);
+
+        assertEquals("{\"id\":1}{\"id\":2}", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package community.solace.spring.cloud.requestreply.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTest {
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-timer", Duration.ofMillis(5), 8);
+
+    @AfterEach
+    void stopTimer() {
+        timer.stop();
+    }
+
+    @Test
+    void newTimeoutShouldRunTaskOnceDelayElapsed() throws InterruptedException {
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(expired::countDown, Duration.ofMillis(50));
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.pendingTimeouts());
+    }
+
+    @Test
+    void newTimeoutShouldExpireInDeadlineOrder_whenDelayExceedsOneRound() throws InterruptedException {
+        // One round of the wheel is 8 * 5ms = 40ms, so these timeouts span several rounds.
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch expired = new CountDownLatch(3);
+
+        timer.newTimeout(() -> { order.add(3); expired.countDown(); }, Duration.ofMillis(150));
+        timer.newTimeout(() -> { order.add(1); expired.countDown(); }, Duration.ofMillis(10));
+        timer.newTimeout(() -> { order.add(2); expired.countDown(); }, Duration.ofMillis(90));
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3), order);
+    }
+
+    @Test
+    void cancelShouldPreventTask() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch sentinel = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(runs::incrementAndGet, Duration.ofMillis(20));
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        timer.newTimeout(sentinel::countDown, Duration.ofMillis(60));
+
+        assertTrue(sentinel.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void pendingTimeoutsShouldTrackScheduledAndCancelledTimeouts() {
+        for (int i = 0; i < 10_000; i++) {
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> { }, Duration.ofSeconds(30));
+            if (i % 2 == 0) {
+                timeout.cancel();
+            }
+        }
+
+        assertEquals(5_000, timer.pendingTimeouts());
+    }
+
+    @Test
+    void newTimeoutShouldKeepRunning_whenTaskThrows() {
+        AtomicInteger runs = new AtomicInteger();
+
+        timer.newTimeout(() -> { throw new IllegalStateException("test"); }, Duration.ofMillis(10));
+        timer.newTimeout(runs::incrementAndGet, Duration.ofMillis(30));
+
+        await().atMost(Duration.ofSeconds(5)).until(runs::get, equalTo(1));
+    }
+
+    @Test
+    void newTimeoutShouldFail_whenStopped() {
+        timer.stop();
+
+        assertThrows(IllegalStateException.class, () -> timer.newTimeout(() -> { }, Duration.ofMillis(10)));
+    }
+}
@@ -0,0 +1,203 @@
+package community.solace.spring.cloud.requestreply.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.solacesystems.jcsmp.SDTException;
+import com.solacesystems.jcsmp.SDTStream;
+import community.solace.spring.cloud.requestreply.service.header.parser.SpringHeaderParser;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageChunkerTest {
+    private static final int MAX_BYTES = 1_000;
+
+    @Test
+    void chunksShouldNeverExceedMaxBytes() throws SDTException {
+        List<Message<?>> messages = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            messages.add(bytes(10 + i * 7));
+        }
+
+        List<MessageChunker.Chunk<Object>> chunks = toList(MessageChunker.chunks(messages.iterator(), MAX_BYTES));
+
+        int total = 0;
+        for (MessageChunker.Chunk<Object> chunk : chunks) {
+            int bytes = MessageChunker.CHUNK_OVERHEAD_BYTES;
+            SDTStream body = (SDTStream) chunk.message().getPayload();
+            for (int i = 0; i < chunk.size(); i++) {
+                assertEquals("BytesMessage", body.readString());
+                bytes += body.readBytes().length + MessageChunker.ELEMENT_OVERHEAD_BYTES;
+            }
+            assertFalse(body.hasRemaining());
+            assertTrue(bytes <= MAX_BYTES, "chunk of " + bytes + " bytes");
+            total += chunk.size();
+        }
+        assertEquals(messages.size(), total);
+    }
+
+    @Test
+    void chunksShouldShareHeaderTemplate_withIdPerChunk() {
+        List<Message<?>> messages = List.of(bytes(600), bytes(600), bytes(600));
+
+        List<MessageChunker.Chunk<Object>> chunks = toList(MessageChunker.chunks(messages.iterator(), MAX_BYTES));
+
+        assertEquals(3, chunks.size());
+        MessageHeaders headers = chunks.get(0).message().getHeaders();
+        for (MessageChunker.Chunk<Object> chunk : chunks) {
+            assertEquals(withoutIdAndTimestamp(headers), withoutIdAndTimestamp(chunk.message().getHeaders()));
+        }
+        assertEquals(3, chunks.stream().map(chunk -> chunk.message().getHeaders().getId()).distinct().count());
+        assertEquals(true, headers.get(SpringHeaderParser.GROUPED_MESSAGES));
+        assertEquals("application/json", headers.get(SpringHeaderParser.GROUPED_CONTENT_TYPE));
+        assertNull(headers.get(MessageHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void chunksShouldSendOversizedAndUnconvertedMessagesAlone() {
+        Message<String> unconverted = MessageBuilder.withPayload("unconverted").build();
+        List<Message<?>> messages = List.of(bytes(10), bytes(MAX_BYTES * 2), bytes(10), unconverted, bytes(10));
+
+        List<MessageChunker.Chunk<Object>> chunks = toList(MessageChunker.chunks(messages.iterator(), MAX_BYTES));
+
+        assertEquals(List.of(1, 1, 1, 1, 1), chunks.stream().map(MessageChunker.Chunk::size).toList());
+        assertSame(unconverted, chunks.get(3).message());
+    }
+
+    @Test
+    void chunksShouldDeflate_whenAboveThreshold() throws SDTException {
+        List<Message<?>> messages = List.of(json(0), json(1), json(2));
+
+        List<MessageChunker.Chunk<Object>> chunks = toList(MessageChunker.chunks(messages.iterator(), MAX_BYTES, 100, 1));
+
+        assertEquals(1, chunks.size());
+        Message<Object> message = chunks.get(0).message();
+        assertEquals(MessageChunker.DEFLATE, message.getHeaders().get(SpringHeaderParser.GROUPED_COMPRESSION));
+        SDTStream body = (SDTStream) message.getPayload();
+        assertEquals(MessageChunker.DEFLATED_BYTES_MESSAGES, body.readString());
+        byte[] deflated = body.readBytes();
+        assertFalse(body.hasRemaining());
+        assertTrue(deflated.length < chunks.get(0).bytes());
+
+        List<byte[]> payloads = new ArrayList<>();
+        MessageChunker.inflate(deflated, payloads::add);
+        assertEquals(messages.size(), payloads.size());
+        for (int i = 0; i < messages.size(); i++) {
+            assertArrayEquals((byte[]) messages.get(i).getPayload(), payloads.get(i));
+        }
+    }
+
+    @Test
+    void chunksShouldNotDeflate_whenBelowThreshold() {
+        List<Message<?>> messages = List.of(json(0), json(1), json(2));
+
+        List<MessageChunker.Chunk<Object>> chunks = toList(MessageChunker.chunks(messages.iterator(), MAX_BYTES, 100, MAX_BYTES));
+
+        assertNull(chunks.get(0).message().getHeaders().get(SpringHeaderParser.GROUPED_COMPRESSION));
+    }
+
+    @Test
+    void serializingChunksShouldMatchConvertedChunks() throws SDTException {
+        List<Object> payloads = new ArrayList<>();
+        List<Message<?>> messages = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String payload = "x".repeat(10 + i * 7);
+            payloads.add(new StringBuilder(payload));
+            messages.add(MessageBuilder.withPayload(payload.getBytes(StandardCharsets.UTF_8)).build());
+        }
+
+        List<MessageChunker.Chunk<Object>> serialized = toList(MessageChunker.chunks(payloads.iterator(), MessageChunkerTest::writeStringBuilder,
+                MessageChunkerTest::unconverted, "text/plain", MAX_BYTES, 100, Integer.MAX_VALUE));
+        List<MessageChunker.Chunk<Object>> converted = toList(MessageChunker.chunks(messages.iterator(), MAX_BYTES, 100));
+
+        assertEquals(converted.stream().map(MessageChunker.Chunk::size).toList(), serialized.stream().map(MessageChunker.Chunk::size).toList());
+        assertEquals(converted.stream().map(MessageChunker.Chunk::bytes).toList(), serialized.stream().map(MessageChunker.Chunk::bytes).toList());
+        int index = 0;
+        for (MessageChunker.Chunk<Object> chunk : serialized) {
+            assertEquals("text/plain", chunk.message().getHeaders().get(SpringHeaderParser.GROUPED_CONTENT_TYPE));
+            SDTStream body = (SDTStream) chunk.message().getPayload();
+            while (body.hasRemaining()) {
+                assertEquals("BytesMessage", body.readString());
+                assertEquals(payloads.get(index++).toString(), new String(body.readBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(payloads.size(), index);
+    }
+
+    @Test
+    void serializingChunksShouldConvertOrPassOnPayloadsNotWritten() {
+        Object unconverted = new Object();
+        List<Object> payloads = List.of(new StringBuilder("a"), "b".getBytes(StandardCharsets.UTF_8), unconverted, new StringBuilder("c"));
+
+        List<MessageChunker.Chunk<Object>> chunks = toList(MessageChunker.chunks(payloads.iterator(), MessageChunkerTest::writeStringBuilder,
+                MessageChunkerTest::unconverted, MimeTypeUtils.TEXT_PLAIN, MAX_BYTES, 100, Integer.MAX_VALUE));
+
+        assertEquals(List.of(2, 1, 1), chunks.stream().map(MessageChunker.Chunk::size).toList());
+        assertSame(unconverted, chunks.get(1).message().getPayload());
+        assertEquals("text/plain", chunks.get(2).message().getHeaders().get(SpringHeaderParser.GROUPED_CONTENT_TYPE));
+    }
+
+    @Test
+    void mapChunkedShouldNotGroup_whenAnyMessageIsUnconverted() {
+        List<Message<Object>> messages = List.of(
+                MessageBuilder.<Object>withPayload(new byte[10]).build(),
+                MessageBuilder.<Object>withPayload("unconverted").build());
+
+        assertEquals(List.of(1, 1), MessageChunker.mapChunked(messages, MAX_BYTES).stream().map(p -> p.getValue()).toList());
+    }
+
+    private static Message<byte[]> bytes(int length) {
+        return MessageBuilder.withPayload(new byte[length])
+                .setHeader(MessageHeaders.CONTENT_TYPE, "application/json")
+                .build();
+    }
+
+    private static Message<byte[]> json(int id) {
+        String json = "{\"id\":" + id + ",\"name\":\"sensor\",\"unit\":\"celsius\",\"location\":\"building\"}";
+        return MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .setHeader(MessageHeaders.CONTENT_TYPE, "application/json")
+                .build();
+    }
+
+    private static boolean writeStringBuilder(Object payload, OutputStream out) throws IOException {
+        if (payload instanceof StringBuilder builder) {
+            out.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+        return false;
+    }
+
+    private static Message<?> unconverted(Object payload) {
+        return MessageBuilder.withPayload(payload).build();
+    }
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static Map<String, Object> withoutIdAndTimestamp(MessageHeaders headers) {
+        Map<String, Object> map = new HashMap<>(headers);
+        map.remove(MessageHeaders.ID);
+        map.remove(MessageHeaders.TIMESTAMP);
+        return map;
+    }
+}
@@ -0,0 +1,86 @@
+package community.solace.spring.cloud.requestreply.util;
+
+import community.solace.spring.cloud.requestreply.config.ExecutorProperties;
+import community.solace.spring.cloud.requestreply.config.ExecutorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestReplyExecutorsTest {
+
+    @Test
+    void createDelegateShouldDefaultToCachedPool() {
+        ExecutorService executor = RequestReplyExecutors.createDelegate(new ExecutorProperties());
+        try {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            assertEquals(0, pool.getCorePoolSize());
+            assertEquals(Integer.MAX_VALUE, pool.getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void createDelegateShouldRejectTasksWhenBoundedPoolIsSaturated() throws InterruptedException {
+        ExecutorProperties properties = new ExecutorProperties();
+        properties.setType(ExecutorType.BOUNDED);
+        properties.setMaxThreads(1);
+        properties.setQueueCapacity(1);
+
+        ExecutorService executor = RequestReplyExecutors.createDelegate(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+            executor.execute(() -> awaitQuietly(release));
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> awaitQuietly(release)));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void createDelegateShouldRunTasksWhenVirtualIsRequested() throws InterruptedException {
+        // On Java 17 this falls back to the cached pool, on Java 21+ each task gets its own virtual thread.
+        ExecutorProperties properties = new ExecutorProperties();
+        properties.setType(ExecutorType.VIRTUAL);
+
+        ExecutorService executor = RequestReplyExecutors.create(properties);
+        CountDownLatch done = new CountDownLatch(100);
+        try {
+            for (int i = 0; i < 100; i++) {
+                executor.execute(done::countDown);
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void setTypeShouldFallBackToCached() {
+        ExecutorProperties properties = new ExecutorProperties();
+        properties.setType(null);
+
+        assertEquals(ExecutorType.CACHED, properties.getType());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}